@@ -0,0 +1,86 @@
+#!/bin/bash
+#
+# Smoke test for the native executable: starts a local stub HTTP server, runs the
+# stdio MCP server against it and checks that a tools/call goes through. Reports the
+# time to the initialize response and the resident memory after the call, for the
+# native executable and for the JAR.
+#
+# Usage:
+#   scripts/native-smoke.sh
+#
+# Build first with: mvn package && mvn -Pnative native:compile
+
+set -u
+
+JAR="target/mcpgateway-0.0.1-SNAPSHOT.jar"
+NATIVE="target/mcpgateway"
+STUB_PORT=${STUB_PORT:-18181}
+
+WORK=$(mktemp -d)
+trap 'kill "$STUB_PID" 2>/dev/null; rm -rf "$WORK"' EXIT
+
+mkdir -p "$WORK/stub"
+echo '{"message":"hello from the stub","items":[1,2,3]}' > "$WORK/stub/hello.json"
+python3 -m http.server "$STUB_PORT" --bind 127.0.0.1 --directory "$WORK/stub" >/dev/null 2>&1 &
+STUB_PID=$!
+
+cat > "$WORK/config.yaml" <<EOF
+server:
+  name: "Native smoke"
+  version: "1.0.0"
+tools:
+  - name: "hello"
+    description: "Reads the stub document"
+    endpoint: "http://127.0.0.1:$STUB_PORT/hello.json"
+    method: "GET"
+    response:
+      fields: ["message"]
+EOF
+
+for ((i = 0; i < 50; i++)); do
+    curl -s -o /dev/null "http://127.0.0.1:$STUB_PORT/hello.json" && break
+    sleep 0.1
+done
+
+FAILED=0
+
+# Runs one launch mode and prints its startup time and RSS
+smoke() {
+    local name=$1
+    shift
+    local start end init call rss
+    start=$(date +%s%N)
+    coproc SERVER { exec "$@" --mcp.config.file="$WORK/config.yaml" --mcp.config.watch=false 2>"$WORK/$name.err"; }
+    read -r -t 60 init <&"${SERVER[0]}"
+    end=$(date +%s%N)
+
+    echo '{"jsonrpc":"2.0","id":2,"method":"tools/call","params":{"name":"hello","arguments":{}}}' >&"${SERVER[1]}"
+    read -r -t 30 call <&"${SERVER[0]}"
+    rss=$(awk '/^VmRSS/ {print $2}' "/proc/$SERVER_PID/status" 2>/dev/null)
+
+    kill "$SERVER_PID" 2>/dev/null
+    wait "$SERVER_PID" 2>/dev/null
+
+    if [[ "$init" != *'"protocolVersion"'* ]] || [[ "$call" != *'hello from the stub'* ]]; then
+        echo "$name: FAILED" >&2
+        echo "  initialize: ${init:-<none>}" >&2
+        echo "  tools/call: ${call:-<none>}" >&2
+        sed 's/^/  stderr: /' "$WORK/$name.err" | tail -20 >&2
+        FAILED=1
+        return
+    fi
+    printf '%-8s startup=%5s ms  rss=%6s MB\n' "$name" "$(( (end - start) / 1000000 ))" "$(( ${rss:-0} / 1024 ))"
+}
+
+if [ -f "$JAR" ]; then
+    smoke jar java -jar "$JAR" --mcp
+else
+    echo "jar: not built ($JAR)" >&2
+fi
+if [ -x "$NATIVE" ]; then
+    smoke native "$NATIVE" --mcp
+else
+    echo "native: not built ($NATIVE)" >&2
+fi
+
+exit $FAILED
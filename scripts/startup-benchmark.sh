@@ -0,0 +1,72 @@
+#!/bin/bash
+#
+# Measures the time from process launch to the first line on stdout (the MCP
+# initialize response) for the stdio server.
+#
+# Usage:
+#   scripts/startup-benchmark.sh [runs] [-- command...]
+#
+# Without a command, every launch mode that has been built is measured:
+#   jar      java -jar target/mcpgateway-0.0.1-SNAPSHOT.jar --mcp
+#   aot-cds  extracted jar with Spring AOT and the AppCDS archive (mvn -Pfast-startup package)
+#   native   target/mcpgateway (mvn -Pnative native:compile)
+
+set -u
+
+RUNS=10
+if [ $# -gt 0 ] && [ "$1" != "--" ]; then
+    RUNS=$1
+    shift
+fi
+
+JAR="target/mcpgateway-0.0.1-SNAPSHOT.jar"
+EXTRACTED="target/mcp/mcpgateway-0.0.1-SNAPSHOT.jar"
+ARCHIVE="target/mcp/application.jsa"
+NATIVE="target/mcpgateway"
+
+# Prints the milliseconds until the command writes its first line
+time_to_first_line() {
+    local start end line
+    start=$(date +%s%N)
+    coproc SERVER { exec "$@" 2>/dev/null; }
+    read -r line <&"${SERVER[0]}"
+    end=$(date +%s%N)
+    kill "$SERVER_PID" 2>/dev/null
+    wait "$SERVER_PID" 2>/dev/null
+    if [ -z "$line" ]; then
+        echo "no output" >&2
+        return 1
+    fi
+    echo $(( (end - start) / 1000000 ))
+}
+
+benchmark() {
+    local name=$1
+    shift
+    local samples=()
+    for ((i = 0; i < RUNS; i++)); do
+        samples+=("$(time_to_first_line "$@")") || return
+    done
+    local sorted
+    sorted=$(printf '%s\n' "${samples[@]}" | sort -n)
+    printf '%-8s runs=%-3s min=%4s ms  median=%4s ms  max=%4s ms\n' "$name" "$RUNS" \
+        "$(echo "$sorted" | head -1)" \
+        "$(echo "$sorted" | sed -n "$(( (RUNS + 1) / 2 ))p")" \
+        "$(echo "$sorted" | tail -1)"
+}
+
+if [ $# -gt 0 ] && [ "$1" = "--" ]; then
+    shift
+    benchmark custom "$@"
+    exit
+fi
+
+if [ -f "$JAR" ]; then
+    benchmark jar java -jar "$JAR" --mcp
+fi
+if [ -f "$EXTRACTED" ] && [ -f "$ARCHIVE" ]; then
+    benchmark aot-cds java -XX:SharedArchiveFile="$ARCHIVE" -Xshare:auto -Dspring.aot.enabled=true -jar "$EXTRACTED" --mcp
+fi
+if [ -x "$NATIVE" ]; then
+    benchmark native "$NATIVE" --mcp
+fi
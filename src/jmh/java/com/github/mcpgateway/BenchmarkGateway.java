@@ -0,0 +1,138 @@
+package com.github.mcpgateway;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The gateway as the benchmarks see it: an in-process Netty stub standing in for the
+ * upstream API and a Spring context (no web server) loaded with a generated configuration.
+ *
+ * <p>The configuration holds two tools calling the stub, {@code search} (GET with query
+ * parameters) and {@code create} (POST with a body template), each declaring the parameters
+ * its benchmark sends, followed by the requested number of filler tools with three parameters each.
+ */
+public final class BenchmarkGateway implements AutoCloseable {
+
+    // A small JSON object, about the size of a typical lookup result
+    public static final String RESPONSE_BODY = "{\"id\":42,\"name\":\"benchmark\",\"tags\":[\"a\",\"b\",\"c\"],"
+            + "\"owner\":{\"id\":7,\"login\":\"octocat\"},\"score\":0.875,\"active\":true}";
+
+    private final DisposableServer upstream;
+    private final ConfigurableApplicationContext context;
+    private final Path configFile;
+
+    private BenchmarkGateway(DisposableServer upstream, ConfigurableApplicationContext context, Path configFile) {
+        this.upstream = upstream;
+        this.context = context;
+        this.configFile = configFile;
+    }
+
+    public static BenchmarkGateway start(int fillerTools) throws IOException {
+        DisposableServer upstream = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .handle((request, response) -> request.receive().then(response
+                        .header("Content-Type", "application/json")
+                        .sendString(Mono.just(RESPONSE_BODY))
+                        .then()))
+                .bindNow();
+
+        Path configFile = Files.createTempFile("mcpgateway-benchmark", ".yaml");
+        new ObjectMapper(new YAMLFactory()).writeValue(configFile.toFile(),
+                configuration("http://127.0.0.1:" + upstream.port(), fillerTools));
+
+        // Passed as arguments so they take precedence over application.yml
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(McpgatewayApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.main.banner-mode=off",
+                        "--spring.main.log-startup-info=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.github.mcpgateway=WARN",
+                        "--mcp.config.file=" + configFile.toAbsolutePath(),
+                        "--mcp.config.watch=false");
+        return new BenchmarkGateway(upstream, context, configFile);
+    }
+
+    private static Map<String, Object> configuration(String upstreamUrl, int fillerTools) {
+        List<Map<String, Object>> tools = new ArrayList<>();
+
+        Map<String, Object> search = tool("search", "Search items by text", upstreamUrl + "/search", "GET", searchParameters());
+        search.put("query_params", Map.of("q", "{{query}}", "limit", "{{limit}}", "format", "json"));
+        tools.add(search);
+
+        Map<String, Object> createParameters = new LinkedHashMap<>();
+        createParameters.put("name", parameter("string", "Item name", true));
+        createParameters.put("description", parameter("string", "Item description", false));
+        createParameters.put("priority", parameter("integer", "Item priority", false));
+        Map<String, Object> create = tool("create", "Create an item", upstreamUrl + "/items", "POST", createParameters);
+        create.put("template", "{\"name\": \"{{name}}\", \"description\": \"{{description}}\", \"priority\": {{priority}}}");
+        tools.add(create);
+
+        for (int i = 0; i < fillerTools; i++) {
+            tools.add(tool("tool-" + i, "Filler tool number " + i + " for catalog benchmarks",
+                    upstreamUrl + "/tools/" + i, "GET", searchParameters()));
+        }
+
+        Map<String, Object> server = new LinkedHashMap<>();
+        server.put("name", "Benchmark Gateway");
+        server.put("version", "1.0.0");
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("server", server);
+        config.put("tools", tools);
+        return config;
+    }
+
+    private static Map<String, Object> searchParameters() {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("query", parameter("string", "Text to search for", true));
+        parameters.put("limit", parameter("integer", "Maximum number of results", false));
+        parameters.put("name", parameter("string", "Item name", false));
+        return parameters;
+    }
+
+    private static Map<String, Object> tool(String name, String description, String endpoint, String method,
+                                            Map<String, Object> parameters) {
+        Map<String, Object> tool = new LinkedHashMap<>();
+        tool.put("name", name);
+        tool.put("description", description);
+        tool.put("endpoint", endpoint);
+        tool.put("method", method);
+        tool.put("timeout", 10);
+        tool.put("parameters", parameters);
+        return tool;
+    }
+
+    private static Map<String, Object> parameter(String type, String description, boolean required) {
+        Map<String, Object> parameter = new LinkedHashMap<>();
+        parameter.put("type", type);
+        parameter.put("description", description);
+        parameter.put("required", required);
+        return parameter;
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        upstream.disposeNow();
+        Files.deleteIfExists(configFile);
+    }
+}
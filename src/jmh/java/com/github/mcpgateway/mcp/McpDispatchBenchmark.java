@@ -0,0 +1,117 @@
+package com.github.mcpgateway.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mcpgateway.BenchmarkGateway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The stdio path of one message: a JSON line is split and parsed by the
+ * {@link StdioTransport}, handled by the {@link McpDispatcher} and written back as
+ * response bytes. {@code tools/call} goes through to a local Netty stub, {@code tools/list}
+ * serves the cached catalog of twelve tools.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class McpDispatchBenchmark {
+
+    private static final String[][] REQUESTS = {
+            {"ping", "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"ping\"}"},
+            {"tools/list", "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"tools/list\"}"},
+            {"tools/call", "{\"jsonrpc\":\"2.0\",\"id\":3,\"method\":\"tools/call\",\"params\":{\"name\":\"search\","
+                    + "\"arguments\":{\"query\":\"benchmark\",\"limit\":10}}}"},
+    };
+
+    @Param({"ping", "tools/list", "tools/call"})
+    private String method;
+
+    private BenchmarkGateway gateway;
+    private McpDispatcher dispatcher;
+    private StdioTransport transport;
+
+    @Setup
+    public void setUp() throws IOException {
+        gateway = BenchmarkGateway.start(10);
+        dispatcher = gateway.getBean(McpDispatcher.class);
+
+        String line = null;
+        for (String[] request : REQUESTS) {
+            if (request[0].equals(method)) {
+                line = request[1] + "\n";
+            }
+        }
+        transport = new StdioTransport(new ObjectMapper(),
+                new RepeatingInputStream(line.getBytes(StandardCharsets.UTF_8)), OutputStream.nullOutputStream());
+
+        // An error response would be measured as a very fast dispatch
+        McpResponse response = dispatch();
+        // Only tool calls report success in their result; ping answers with an empty one
+        boolean failedCall = "tools/call".equals(method)
+                && !(response.result() instanceof Map<?, ?> result && Boolean.TRUE.equals(result.get("success")));
+        if (response.error() != null || failedCall) {
+            throw new IllegalStateException("Unexpected response: " + response);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        gateway.close();
+    }
+
+    @Benchmark
+    public McpResponse dispatch() throws IOException {
+        McpFrame frame = transport.read();
+        McpResponse response = dispatcher.dispatch(frame.requests().get(0)).block();
+        transport.send(response);
+        return response;
+    }
+
+    /**
+     * Hands out the same line on every read, like a client that keeps sending one request.
+     */
+    private static final class RepeatingInputStream extends InputStream {
+
+        private final byte[] line;
+        private int position;
+
+        private RepeatingInputStream(byte[] line) {
+            this.line = line;
+        }
+
+        @Override
+        public int read() {
+            byte b = line[position];
+            position = (position + 1) % line.length;
+            return b & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            int count = Math.min(length, line.length - position);
+            System.arraycopy(line, position, buffer, offset, count);
+            position = (position + count) % line.length;
+            return count;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.mcpgateway.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.github.mcpgateway.BenchmarkGateway;
+import com.github.mcpgateway.service.ApiWrapperMcpService;
+import com.github.mcpgateway.service.ToolExecutionPlan;
+import com.github.mcpgateway.service.ToolRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * tools/list cost by catalog size: building the input schemas, serializing every page
+ * (once per configuration load) and answering a request from the cached pages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToolCatalogBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int tools;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BenchmarkGateway gateway;
+    private ToolCatalog catalog;
+    private McpDispatcher dispatcher;
+    private ToolRegistry registry;
+    private McpRequest toolsList;
+
+    @Setup
+    public void setUp() throws IOException {
+        // The gateway always adds its two stub tools
+        gateway = BenchmarkGateway.start(tools - 2);
+        catalog = gateway.getBean(ToolCatalog.class);
+        dispatcher = gateway.getBean(McpDispatcher.class);
+        registry = gateway.getBean(ApiWrapperMcpService.class).getToolRegistry();
+        toolsList = new McpRequest(IntNode.valueOf(1), "tools/list", null, null, null);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        gateway.close();
+    }
+
+    @Benchmark
+    public void createInputSchemas(Blackhole blackhole) {
+        for (ToolExecutionPlan plan : registry.getPlans()) {
+            blackhole.consume(catalog.createInputSchema(plan.getTool(), plan.getPathVariables()));
+        }
+    }
+
+    @Benchmark
+    public RawValue[] buildPages() {
+        return catalog.buildPages(registry);
+    }
+
+    @Benchmark
+    public byte[] handleToolsList() throws IOException {
+        return objectMapper.writeValueAsBytes(dispatcher.dispatch(toolsList).block());
+    }
+}
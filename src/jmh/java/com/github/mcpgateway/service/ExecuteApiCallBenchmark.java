@@ -0,0 +1,81 @@
+package com.github.mcpgateway.service;
+
+import com.github.mcpgateway.BenchmarkGateway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full tool call through {@link ApiWrapperMcpService#executeApiCall}: rendering, limits,
+ * the pooled WebClient request to a local Netty stub, decoding and the result envelope.
+ * The stub answers right away, so the numbers are the gateway's own per-call cost plus
+ * one loopback round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecuteApiCallBenchmark {
+
+    private BenchmarkGateway gateway;
+    private ApiWrapperMcpService service;
+    private ToolExecutionPlan search;
+    private ToolExecutionPlan create;
+    private Map<String, Object> searchInput;
+    private Map<String, Object> createInput;
+
+    @Setup
+    public void setUp() throws IOException {
+        gateway = BenchmarkGateway.start(0);
+        service = gateway.getBean(ApiWrapperMcpService.class);
+        search = service.findTool("search").orElseThrow();
+        create = service.findTool("create").orElseThrow();
+
+        searchInput = new HashMap<>();
+        searchInput.put("query", "benchmark");
+        searchInput.put("limit", 10);
+
+        createInput = new HashMap<>();
+        createInput.put("name", "benchmark");
+        createInput.put("description", "Created by the benchmark");
+        createInput.put("priority", 3);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        gateway.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> get() {
+        return checked(service.executeApiCall(search, searchInput));
+    }
+
+    @Benchmark
+    public Map<String, Object> post() {
+        return checked(service.executeApiCall(create, createInput));
+    }
+
+    // A failing stub would otherwise be measured as a very fast gateway
+    private static Map<String, Object> checked(Map<String, Object> result) {
+        if (!Boolean.TRUE.equals(result.get("success"))) {
+            throw new IllegalStateException("Tool call failed: " + result.get("error"));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.mcpgateway.loadtest;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One way of calling tools on a running gateway process.
+ */
+interface GatewayDriver extends AutoCloseable {
+
+    /**
+     * Starts a tool call without blocking. Completes when the gateway returned a successful
+     * result, and exceptionally with the gateway's error for an error result, or when the
+     * call failed or timed out.
+     */
+    CompletableFuture<Void> call(String tool, String argumentsJson);
+
+    @Override
+    void close() throws Exception;
+}
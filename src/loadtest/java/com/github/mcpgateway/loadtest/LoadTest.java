@@ -0,0 +1,400 @@
+package com.github.mcpgateway.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test of one gateway instance. Generates a configuration with N tools
+ * pointing at a local {@link StubUpstream}, starts the gateway JAR as a separate process
+ * and calls its tools at a fixed target rate, over the REST API or the stdio protocol.
+ *
+ * <p>Calls are sent open loop: each one is due at a fixed time whether or not earlier calls
+ * have finished, and its latency is measured from that time. A gateway that stalls
+ * therefore shows its stall in the percentiles instead of silently lowering the rate
+ * (no coordinated omission). Results are printed and written as JSON, together with the
+ * commit and the parameters, so runs can be compared with {@code --baseline}.
+ *
+ * <pre>
+ * mvn -Ploadtest package exec:exec@loadtest -Dloadtest.args="--mode=rest,stdio --rate=500"
+ * </pre>
+ */
+public final class LoadTest {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("mode", "rest");               // rest, stdio or both: rest,stdio
+        DEFAULTS.put("rate", "200");                // target tool calls per second
+        DEFAULTS.put("duration", "30");             // measured seconds
+        DEFAULTS.put("warmup", "10");               // seconds at the target rate before measuring
+        DEFAULTS.put("tools", "100");               // tools in the generated configuration, called round robin
+        DEFAULTS.put("latency-ms", "20");           // stub response time
+        DEFAULTS.put("jitter-ms", "0");             // extra uniform random stub delay
+        DEFAULTS.put("payload-bytes", "1024");      // stub response size
+        DEFAULTS.put("connections", "256");         // REST client connections to the gateway
+        DEFAULTS.put("upstream-connections", "0");  // gateway pool size for the stub (0 = gateway default)
+        DEFAULTS.put("timeout-ms", "30000");        // calls without an answer by then count as timed out
+        DEFAULTS.put("jar", "target/mcpgateway-0.0.1-SNAPSHOT.jar");
+        DEFAULTS.put("gateway-jvm-args", "");       // e.g. "-Xmx512m -XX:+UseZGC"
+        DEFAULTS.put("gateway-args", "");           // e.g. "--mcp.server.max-in-flight=256"
+        DEFAULTS.put("out", "target/loadtest");
+        DEFAULTS.put("baseline", "");               // earlier result JSON to compare with
+    }
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p999"};
+    // Latencies are recorded in microseconds, up to ten minutes
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<String, String> options;
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            String key = arg.startsWith("--") && equals > 2 ? arg.substring(2, equals) : null;
+            if (key == null || !DEFAULTS.containsKey(key)) {
+                System.err.println("Unknown argument: " + arg);
+                System.err.println("Options (with defaults):");
+                DEFAULTS.forEach((name, value) -> System.err.println("  --" + name + "=" + value));
+                System.exit(2);
+            }
+            options.put(key, arg.substring(equals + 1));
+        }
+
+        LoadTest loadTest = new LoadTest(options);
+        for (String mode : options.get("mode").split(",")) {
+            loadTest.run(mode.trim());
+        }
+        System.exit(0);
+    }
+
+    private void run(String mode) throws Exception {
+        if (!mode.equals("rest") && !mode.equals("stdio")) {
+            throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+        Path out = Path.of(options.get("out"));
+        Files.createDirectories(out);
+        Duration timeout = Duration.ofMillis(number("timeout-ms"));
+
+        try (StubUpstream stub = new StubUpstream(number("latency-ms"), number("jitter-ms"), (int) number("payload-bytes"))) {
+            Path config = writeConfiguration(out.resolve("api-config-" + number("tools") + "-tools.yaml"), stub.port());
+            File log = out.resolve("gateway-" + mode + ".log").toFile();
+            List<String> command = gatewayCommand(mode, config);
+
+            System.err.println("Starting the gateway (" + mode + "), log in " + log);
+            try (GatewayDriver driver = mode.equals("rest")
+                    ? new RestDriver(command, log, (int) number("connections"), timeout)
+                    : new StdioDriver(command, log, timeout)) {
+                Result result = drive(driver, timeout);
+                report(mode, result, out);
+            }
+        }
+    }
+
+    private List<String> gatewayCommand(String mode, Path config) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(split(options.get("gateway-jvm-args")));
+        command.add("-jar");
+        command.add(options.get("jar"));
+        if (mode.equals("stdio")) {
+            command.add("--mcp");
+        }
+        command.add("--mcp.config.file=" + config.toAbsolutePath());
+        command.add("--mcp.config.watch=false");
+        command.add("--logging.level.com.github.mcpgateway=WARN");
+        command.addAll(split(options.get("gateway-args")));
+        return command;
+    }
+
+    private Path writeConfiguration(Path file, int stubPort) throws IOException {
+        List<Map<String, Object>> tools = new ArrayList<>();
+        for (int i = 0; i < number("tools"); i++) {
+            Map<String, Object> query = new LinkedHashMap<>();
+            query.put("type", "string");
+            query.put("description", "Search text");
+            query.put("required", true);
+
+            Map<String, Object> tool = new LinkedHashMap<>();
+            tool.put("name", "tool-" + i);
+            tool.put("description", "Load test tool " + i);
+            tool.put("endpoint", "http://127.0.0.1:" + stubPort + "/items/" + i);
+            tool.put("method", "GET");
+            tool.put("query_params", Map.of("q", "{{query}}"));
+            tool.put("parameters", Map.of("query", query));
+            tools.add(tool);
+        }
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("server", Map.of("name", "Load test", "version", "1.0.0"));
+        if (number("upstream-connections") > 0) {
+            Map<String, Object> pool = new LinkedHashMap<>();
+            pool.put("max_connections", number("upstream-connections"));
+            pool.put("pending_acquire_max_count", -1);
+            config.put("upstreams", Map.of("127.0.0.1", pool));
+        }
+        config.put("tools", tools);
+
+        new ObjectMapper(new YAMLFactory()).writeValue(file.toFile(), config);
+        return file;
+    }
+
+    private Result drive(GatewayDriver driver, Duration timeout) throws InterruptedException {
+        double rate = Double.parseDouble(options.get("rate"));
+        int toolCount = (int) number("tools");
+        String arguments = "{\"query\":\"load-test\"}";
+
+        Result result = new Result();
+        Recorder measured = new Recorder(3);
+        Recorder progress = new Recorder(3);
+        AtomicInteger inFlight = new AtomicInteger();
+
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureStart = start + TimeUnit.SECONDS.toNanos(number("warmup"));
+        long end = measureStart + TimeUnit.SECONDS.toNanos(number("duration"));
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        LongAdder progressSent = new LongAdder();
+        LongAdder progressFailed = new LongAdder();
+        reporter.scheduleAtFixedRate(() -> printProgress(start, measureStart, progress.getIntervalHistogram(),
+                progressSent.sumThenReset(), progressFailed.sumThenReset(), inFlight.get()), 1, 1, TimeUnit.SECONDS);
+
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * 1e9 / rate);
+            if (intended >= end) {
+                break;
+            }
+            long now;
+            while ((now = System.nanoTime()) < intended) {
+                LockSupport.parkNanos(intended - now);
+            }
+
+            boolean measuring = intended >= measureStart;
+            if (measuring) {
+                result.sent.increment();
+            }
+            progressSent.increment();
+            inFlight.incrementAndGet();
+
+            CompletableFuture<Void> call;
+            try {
+                call = driver.call("tool-" + (i % toolCount), arguments);
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+            call.whenComplete((ignored, error) -> {
+                long latencyMicros = Math.min(MAX_LATENCY_MICROS, (System.nanoTime() - intended) / 1000);
+                inFlight.decrementAndGet();
+                progress.recordValue(latencyMicros);
+                if (error != null) {
+                    progressFailed.increment();
+                }
+                if (!measuring) {
+                    return;
+                }
+                measured.recordValue(latencyMicros);
+                if (error == null) {
+                    result.succeeded.increment();
+                } else if (unwrap(error) instanceof TimeoutException) {
+                    result.timedOut.increment();
+                } else {
+                    result.failed.increment();
+                    if (result.firstError == null) {
+                        result.firstError = unwrap(error).getMessage();
+                    }
+                }
+            });
+        }
+
+        // Wait for the stragglers; anything still open is past its timeout anyway
+        long drainDeadline = System.nanoTime() + timeout.toNanos() + TimeUnit.SECONDS.toNanos(5);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        reporter.shutdownNow();
+        reporter.awaitTermination(1, TimeUnit.SECONDS);
+
+        result.latency = measured.getIntervalHistogram();
+        result.seconds = TimeUnit.SECONDS.toNanos(number("duration")) / 1e9;
+        return result;
+    }
+
+    private static void printProgress(long start, long measureStart, Histogram interval, long sent, long failed, int inFlight) {
+        long now = System.nanoTime();
+        System.err.printf("[%4ds] %-7s sent %6d/s  failed %5d  in flight %5d  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms%n",
+                TimeUnit.NANOSECONDS.toSeconds(now - start), now < measureStart ? "warm-up" : "measure",
+                sent, failed, inFlight, millis(interval.getValueAtPercentile(50)),
+                millis(interval.getValueAtPercentile(99)), millis(interval.getMaxValue()));
+    }
+
+    private void report(String mode, Result result, Path out) throws IOException {
+        long sent = result.sent.sum();
+        long errors = result.failed.sum() + result.timedOut.sum();
+        double errorRate = sent > 0 ? errors * 100.0 / sent : 0;
+        double throughput = result.succeeded.sum() / result.seconds;
+        Histogram latency = result.latency;
+
+        PrintStream console = System.out;
+        console.printf("%n== %s: %s tools, %s calls/s target, %s s after %s s warm-up, stub %s ms (+%s jitter) / %s bytes%n",
+                mode, options.get("tools"), options.get("rate"), options.get("duration"), options.get("warmup"),
+                options.get("latency-ms"), options.get("jitter-ms"), options.get("payload-bytes"));
+        console.printf("calls       %d sent, %d ok, %d failed, %d timed out (%.3f %% errors)%n",
+                sent, result.succeeded.sum(), result.failed.sum(), result.timedOut.sum(), errorRate);
+        console.printf("throughput  %.1f ok/s%n", throughput);
+        StringBuilder percentiles = new StringBuilder("latency ms ");
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            percentiles.append(String.format("  %s %.2f", PERCENTILE_NAMES[i], millis(latency.getValueAtPercentile(PERCENTILES[i]))));
+        }
+        percentiles.append(String.format("  max %.2f  mean %.2f", millis(latency.getMaxValue()), latency.getMean() / 1000));
+        console.println(percentiles);
+        if (result.firstError != null) {
+            console.println("first error " + result.firstError);
+        }
+
+        Map<String, Object> latencyMs = new LinkedHashMap<>();
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            latencyMs.put(PERCENTILE_NAMES[i], millis(latency.getValueAtPercentile(PERCENTILES[i])));
+        }
+        latencyMs.put("max", millis(latency.getMaxValue()));
+        latencyMs.put("mean", latency.getMean() / 1000);
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("sent", sent);
+        results.put("succeeded", result.succeeded.sum());
+        results.put("failed", result.failed.sum());
+        results.put("timed_out", result.timedOut.sum());
+        results.put("error_rate_percent", errorRate);
+        results.put("throughput", throughput);
+        results.put("latency_ms", latencyMs);
+
+        Map<String, Object> parameters = new LinkedHashMap<>(options);
+        parameters.remove("mode");
+        parameters.remove("out");
+        parameters.remove("baseline");
+
+        String commit = git("rev-parse", "--short", "HEAD");
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("mode", mode);
+        run.put("commit", commit);
+        run.put("dirty", !git("status", "--porcelain", "--untracked-files=no").isEmpty());
+        run.put("timestamp", LocalDateTime.now().toString());
+        run.put("java", System.getProperty("java.version"));
+        run.put("cpus", Runtime.getRuntime().availableProcessors());
+        run.put("parameters", parameters);
+        run.put("results", results);
+
+        String name = mode + "-" + (commit.isEmpty() ? "unknown" : commit) + "-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path json = out.resolve(name + ".json");
+        JSON.writeValue(json.toFile(), run);
+        // Full distribution for HdrHistogram's plotter, in milliseconds
+        try (PrintStream hgrm = new PrintStream(out.resolve(name + ".hgrm").toFile(), StandardCharsets.UTF_8)) {
+            latency.outputPercentileDistribution(hgrm, 1000.0);
+        }
+        console.println("results     " + json + " (+ .hgrm)");
+
+        if (!options.get("baseline").isEmpty()) {
+            compare(run, JSON.readTree(new File(options.get("baseline"))));
+        }
+    }
+
+    private void compare(Map<String, Object> run, JsonNode baseline) {
+        PrintStream console = System.out;
+        console.printf("vs baseline %s (%s)%n", baseline.path("commit").asText("?"), options.get("baseline"));
+        JsonNode parameters = JSON.valueToTree(run.get("parameters"));
+        if (!parameters.equals(baseline.path("parameters")) || !run.get("mode").equals(baseline.path("mode").asText())) {
+            console.println("  warning: the baseline ran with different parameters");
+        }
+        JsonNode current = JSON.valueToTree(run.get("results"));
+        JsonNode previous = baseline.path("results");
+        compareValue(console, "throughput", current.path("throughput"), previous.path("throughput"));
+        compareValue(console, "errors %", current.path("error_rate_percent"), previous.path("error_rate_percent"));
+        for (String name : PERCENTILE_NAMES) {
+            compareValue(console, name + " ms", current.path("latency_ms").path(name), previous.path("latency_ms").path(name));
+        }
+    }
+
+    private static void compareValue(PrintStream console, String name, JsonNode current, JsonNode previous) {
+        double now = current.asDouble();
+        double before = previous.asDouble();
+        String change = before != 0 ? String.format("%+.1f %%", (now - before) * 100 / before) : "n/a";
+        console.printf("  %-11s %10.2f  vs %10.2f  (%s)%n", name, now, before, change);
+    }
+
+    private long number(String option) {
+        return Long.parseLong(options.get(option));
+    }
+
+    private static List<String> split(String args) {
+        return args.isBlank() ? List.of() : Arrays.asList(args.trim().split("\\s+"));
+    }
+
+    private static String git(String... args) {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(Arrays.asList(args));
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return process.waitFor() == 0 ? output : "";
+        } catch (IOException e) {
+            return "";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "";
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class Result {
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder timedOut = new LongAdder();
+        private volatile String firstError;
+        private Histogram latency;
+        private double seconds;
+    }
+}
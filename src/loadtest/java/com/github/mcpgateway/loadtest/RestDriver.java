@@ -0,0 +1,125 @@
+package com.github.mcpgateway.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the gateway in server mode and calls {@code POST /api/tools/{tool}/execute} over a
+ * pool of keep-alive connections.
+ */
+final class RestDriver implements GatewayDriver {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Process process;
+    private final ConnectionProvider connections;
+    private final LoopResources loops = LoopResources.create("loadtest-client", 2, true);
+    private final HttpClient client;
+    private final Duration timeout;
+
+    RestDriver(List<String> gatewayCommand, File log, int maxConnections, Duration timeout) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>(gatewayCommand);
+        command.add("--server.port=" + port);
+        process = new ProcessBuilder(command)
+                .redirectOutput(log)
+                .redirectErrorStream(true)
+                .start();
+
+        this.timeout = timeout;
+        connections = ConnectionProvider.builder("loadtest")
+                .maxConnections(maxConnections)
+                // Calls over the connection limit wait on the client, which shows up as latency
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(timeout)
+                .build();
+        client = HttpClient.create(connections)
+                .runOn(loops)
+                .baseUrl("http://127.0.0.1:" + port)
+                .headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, "application/json"));
+
+        awaitHealthy(log);
+    }
+
+    private void awaitHealthy(File log) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(120);
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Gateway exited with " + process.exitValue() + ", see " + log);
+            }
+            Integer status = client.get().uri("/api/health")
+                    .response()
+                    .map(response -> response.status().code())
+                    .onErrorResume(e -> Mono.empty())
+                    .block(Duration.ofSeconds(5));
+            if (status != null && status == 200) {
+                return;
+            }
+            Thread.sleep(200);
+        }
+        throw new IllegalStateException("Gateway did not become healthy, see " + log);
+    }
+
+    @Override
+    public CompletableFuture<Void> call(String tool, String argumentsJson) {
+        return client.post()
+                .uri("/api/tools/" + tool + "/execute")
+                .send(ByteBufFlux.fromString(Mono.just(argumentsJson)))
+                .responseSingle((response, body) -> body.asByteArray()
+                        .defaultIfEmpty(new byte[0])
+                        .handle((bytes, sink) -> {
+                            String error = error(response.status().code(), bytes);
+                            if (error != null) {
+                                sink.error(new IllegalStateException(error));
+                            } else {
+                                sink.complete();
+                            }
+                        }))
+                .timeout(timeout)
+                .then()
+                .toFuture();
+    }
+
+    // The gateway's error for a failed call, or null
+    private String error(int status, byte[] body) {
+        try {
+            JsonNode result = objectMapper.readTree(body);
+            if (status == 200 && result.path("success").asBoolean()) {
+                return null;
+            }
+            return "HTTP " + status + ": " + result.path("error").asText("no error message");
+        } catch (IOException e) {
+            return "HTTP " + status + ": unreadable body";
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        connections.dispose();
+        loops.dispose();
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.github.mcpgateway.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the gateway with {@code --mcp} and sends {@code tools/call} requests as JSON lines
+ * on its stdin. Responses are matched to their requests by id as they arrive on stdout,
+ * so many calls can be in flight at once, as with a real MCP client.
+ */
+final class StdioDriver implements GatewayDriver {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Process process;
+    private final OutputStream stdin;
+    private final Map<Long, CompletableFuture<Void>> pending = new ConcurrentHashMap<>();
+    private final CompletableFuture<Void> ready = new CompletableFuture<>();
+    // The server answers an initialize request with id 1 on its own at startup
+    private final AtomicLong nextId = new AtomicLong(2);
+    private final Duration timeout;
+
+    StdioDriver(List<String> gatewayCommand, File log, Duration timeout) throws Exception {
+        this.timeout = timeout;
+        process = new ProcessBuilder(gatewayCommand)
+                .redirectError(log)
+                .start();
+        stdin = new BufferedOutputStream(process.getOutputStream(), 64 * 1024);
+
+        Thread reader = new Thread(this::readResponses, "loadtest-stdio-reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        try {
+            ready.get(120, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            process.destroyForcibly();
+            throw new IllegalStateException("Gateway did not answer on stdout, see " + log, e);
+        }
+    }
+
+    private void readResponses() {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                ready.complete(null);
+                JsonNode message = objectMapper.readTree(line);
+                JsonNode id = message.get("id");
+                if (id == null || !id.canConvertToLong()) {
+                    // Notifications and errors for frames that could not be parsed
+                    continue;
+                }
+                CompletableFuture<Void> call = pending.remove(id.asLong());
+                if (call == null) {
+                    continue;
+                }
+                JsonNode result = message.path("result");
+                if (result.path("success").asBoolean()) {
+                    call.complete(null);
+                } else {
+                    JsonNode error = message.has("error") ? message.get("error").path("message") : result.path("error");
+                    call.completeExceptionally(new IllegalStateException(error.asText("no error message")));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Reading the gateway's stdout failed: " + e.getMessage());
+        }
+        IllegalStateException closed = new IllegalStateException("Gateway closed its stdout");
+        ready.completeExceptionally(closed);
+        pending.values().forEach(call -> call.completeExceptionally(closed));
+    }
+
+    @Override
+    public CompletableFuture<Void> call(String tool, String argumentsJson) {
+        long id = nextId.getAndIncrement();
+        CompletableFuture<Void> call = new CompletableFuture<>();
+        pending.put(id, call);
+        String request = "{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"method\":\"tools/call\",\"params\":{\"name\":"
+                + quote(tool) + ",\"arguments\":" + argumentsJson + "}}\n";
+        try {
+            synchronized (stdin) {
+                stdin.write(request.getBytes(StandardCharsets.UTF_8));
+                stdin.flush();
+            }
+        } catch (IOException e) {
+            pending.remove(id);
+            call.completeExceptionally(new UncheckedIOException(e));
+            return call;
+        }
+        return call.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((ignored, error) -> pending.remove(id));
+    }
+
+    private String quote(String text) {
+        try {
+            return objectMapper.writeValueAsString(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        try {
+            // End of input: the server finishes its in-flight calls and exits
+            synchronized (stdin) {
+                stdin.close();
+            }
+        } catch (IOException e) {
+            // Already gone
+        }
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+}
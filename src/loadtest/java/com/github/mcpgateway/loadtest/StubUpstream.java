@@ -0,0 +1,65 @@
+package com.github.mcpgateway.loadtest;
+
+import io.netty.buffer.Unpooled;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local upstream for the load test: answers every request with the same JSON document of
+ * about {@code payloadBytes} after {@code latencyMs} (plus up to {@code jitterMs} of uniform
+ * jitter). Runs on its own event loops so it does not compete with the load generator's.
+ */
+final class StubUpstream implements AutoCloseable {
+
+    private final LoopResources loops = LoopResources.create("stub-upstream", 2, true);
+    private final DisposableServer server;
+
+    StubUpstream(long latencyMs, long jitterMs, int payloadBytes) {
+        byte[] body = payload(payloadBytes);
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .runOn(loops)
+                .handle((request, response) -> {
+                    long delay = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+                    Mono<Void> reply = response
+                            .header("Content-Type", "application/json")
+                            .header("Content-Length", String.valueOf(body.length))
+                            .send(Mono.fromSupplier(() -> Unpooled.wrappedBuffer(body)))
+                            .then();
+                    return request.receive().then(delay > 0 ? Mono.delay(Duration.ofMillis(delay)).then(reply) : reply);
+                })
+                .bindNow();
+    }
+
+    int port() {
+        return server.port();
+    }
+
+    // {"items":[{"id":0,"name":"item-000000","value":0.5},...]} grown to the requested size
+    private static byte[] payload(int bytes) {
+        StringBuilder json = new StringBuilder("{\"items\":[");
+        int id = 0;
+        while (json.length() < bytes - 2) {
+            if (id > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(id).append(",\"name\":\"item-").append(String.format("%06d", id))
+                    .append("\",\"value\":0.5}");
+            id++;
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+        loops.dispose();
+    }
+}
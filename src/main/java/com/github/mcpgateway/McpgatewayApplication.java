@@ -6,8 +6,10 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(McpgatewayRuntimeHints.class)
 public class McpgatewayApplication {
 
     @Autowired
@@ -22,6 +24,9 @@ public class McpgatewayApplication {
             System.setProperty("logging.level.org.springframework", "WARN");
             System.setProperty("logging.level.com.github.mcpgateway", "WARN");
             System.setProperty("logging.level.root", "WARN");
+            // Startup delays the client's first tool call: only create beans when first used
+            System.setProperty("spring.main.lazy-initialization", "true");
+            System.setProperty("spring.main.log-startup-info", "false");
         }
         
         SpringApplication.run(McpgatewayApplication.class, args);
@@ -40,7 +45,10 @@ public class McpgatewayApplication {
                 System.err.println("  GET  /api/tools");
                 System.err.println("  GET  /api/tools/{toolName}");
                 System.err.println("  POST /api/tools/{toolName}/execute");
+                System.err.println("  POST /api/tools/batch");
+                System.err.println("  POST /api/config/reload");
                 System.err.println("  GET  /api/health");
+                System.err.println("  POST /mcp  (MCP Streamable HTTP)");
                 System.err.println("");
                 System.err.println("To run as MCP server, use: java -jar mcpgateway-0.0.1-SNAPSHOT.jar --mcp");
             }
@@ -0,0 +1,42 @@
+package com.github.mcpgateway;
+
+import com.github.mcpgateway.mcp.McpNotification;
+import com.github.mcpgateway.mcp.McpResponse;
+import com.github.mcpgateway.model.ApiToolConfig;
+import com.github.mcpgateway.model.LimitsConfig;
+import com.github.mcpgateway.model.ParameterConfig;
+import com.github.mcpgateway.model.ServerConfig;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Hints for the native image. The tool configuration is bound by a plain Jackson
+ * {@code ObjectMapper} and the MCP messages are written the same way, so AOT
+ * processing cannot see these types on its own.
+ */
+class McpgatewayRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Registers constructors, accessors and nested property types (UpstreamConfig, RetryConfig, ...)
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                ServerConfig.class,
+                ServerConfig.ServerInfo.class,
+                ServerConfig.AuthConfig.class,
+                ServerConfig.UpstreamConfig.class,
+                ServerConfig.CircuitBreakerConfig.class,
+                ApiToolConfig.class,
+                ApiToolConfig.CacheConfig.class,
+                ApiToolConfig.RetryConfig.class,
+                ApiToolConfig.HedgeConfig.class,
+                ApiToolConfig.ResponseConfig.class,
+                ParameterConfig.class,
+                LimitsConfig.class,
+                McpResponse.class,
+                McpNotification.class);
+
+        // Default configuration file, loaded from the class path
+        hints.resources().registerPattern("api-config.yaml");
+    }
+}
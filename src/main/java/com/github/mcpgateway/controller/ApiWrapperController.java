@@ -3,9 +3,19 @@ package com.github.mcpgateway.controller;
 import com.github.mcpgateway.model.ApiToolConfig;
 import com.github.mcpgateway.model.ServerConfig;
 import com.github.mcpgateway.service.ApiWrapperMcpService;
+import com.github.mcpgateway.service.GatewayHealthIndicator;
+import com.github.mcpgateway.service.ToolExecutionPlan;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.HashMap;
 import java.util.List;
@@ -18,6 +28,13 @@ public class ApiWrapperController {
     @Autowired
     private ApiWrapperMcpService apiWrapperMcpService;
 
+    @Autowired
+    private GatewayHealthIndicator gatewayHealth;
+
+    // Calls of one POST /api/tools/batch request that run at the same time
+    @Value("${mcp.batch.max-concurrency:16}")
+    private int batchConcurrency;
+
     @GetMapping("/server/info")
     public ResponseEntity<Map<String, Object>> getServerInfo() {
         ServerConfig config = apiWrapperMcpService.getServerConfig();
@@ -47,47 +64,101 @@ public class ApiWrapperController {
 
     @GetMapping("/tools/{toolName}")
     public ResponseEntity<ApiToolConfig> getTool(@PathVariable String toolName) {
-        ServerConfig config = apiWrapperMcpService.getServerConfig();
-        if (config != null && config.getTools() != null) {
-            return config.getTools().stream()
-                    .filter(tool -> tool.getName().equals(toolName))
-                    .findFirst()
-                    .map(ResponseEntity::ok)
-                    .orElse(ResponseEntity.notFound().build());
-        }
-        return ResponseEntity.notFound().build();
+        return apiWrapperMcpService.findTool(toolName)
+                .map(plan -> ResponseEntity.ok(plan.getTool()))
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping("/tools/{toolName}/execute")
-    public ResponseEntity<Map<String, Object>> executeTool(
+    public Mono<ResponseEntity<Map<String, Object>>> executeTool(
             @PathVariable String toolName,
             @RequestBody Map<String, Object> parameters) {
         
-        ServerConfig config = apiWrapperMcpService.getServerConfig();
-        if (config != null && config.getTools() != null) {
-            ApiToolConfig toolConfig = config.getTools().stream()
-                    .filter(tool -> tool.getName().equals(toolName))
-                    .findFirst()
-                    .orElse(null);
-            
-            if (toolConfig != null) {
-                // Execute the tool using the service
-                Map<String, Object> result = apiWrapperMcpService.executeApiCall(toolConfig, parameters);
-                return ResponseEntity.ok(result);
-            }
+        ToolExecutionPlan plan = apiWrapperMcpService.findTool(toolName).orElse(null);
+        if (plan != null) {
+            // Execute the tool using the service without holding a request thread
+            return apiWrapperMcpService.executeApiCallAsync(plan, parameters)
+                    .map(ResponseEntity::ok);
         }
         
         Map<String, Object> errorResult = new HashMap<>();
         errorResult.put("success", false);
         errorResult.put("error", "Tool not found: " + toolName);
-        return ResponseEntity.notFound().build();
+        return Mono.just(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/tools/batch")
+    public Mono<ResponseEntity<List<Map<String, Object>>>> executeBatch(
+            @RequestBody List<Map<String, Object>> calls) {
+        
+        // Calls run concurrently; results come back in the order of the request
+        return Flux.fromIterable(calls)
+                .flatMapSequential(this::executeBatchCall, Math.max(1, batchConcurrency))
+                .collectList()
+                .map(ResponseEntity::ok);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Mono<Map<String, Object>> executeBatchCall(Map<String, Object> call) {
+        Object toolName = call.get("tool");
+        Object parameters = call.get("parameters");
+        
+        ToolExecutionPlan plan = toolName instanceof String name ? apiWrapperMcpService.findTool(name).orElse(null) : null;
+        if (plan == null) {
+            Map<String, Object> errorResult = new HashMap<>();
+            errorResult.put("success", false);
+            errorResult.put("error", "Tool not found: " + toolName);
+            return Mono.just(errorResult);
+        }
+        return apiWrapperMcpService.executeApiCallAsync(plan,
+                parameters instanceof Map ? (Map<String, Object>) parameters : new HashMap<>());
+    }
+
+    @PostMapping("/tools/{toolName}/stream")
+    public ResponseEntity<Flux<DataBuffer>> streamTool(
+            @PathVariable String toolName,
+            @RequestBody Map<String, Object> parameters) {
+        
+        // Forwards the upstream body as it arrives instead of building the whole result first
+        return apiWrapperMcpService.findTool(toolName)
+                .map(plan -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(apiWrapperMcpService.streamApiCall(plan, parameters)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/config/reload")
+    public Mono<ResponseEntity<Map<String, Object>>> reloadConfig() {
+        // Parsing and compiling the file is blocking work, so keep it off the event loop
+        return Mono.fromCallable(() -> apiWrapperMcpService.reloadConfiguration())
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(registry -> {
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("success", true);
+                    result.put("tools", registry.size());
+                    return ResponseEntity.ok(result);
+                })
+                .onErrorResume(e -> {
+                    Map<String, Object> errorResult = new HashMap<>();
+                    errorResult.put("success", false);
+                    errorResult.put("error", "Reload failed, keeping the current configuration: " + e.getMessage());
+                    return Mono.just(ResponseEntity.internalServerError().body(errorResult));
+                });
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(apiWrapperMcpService.getStats());
     }
 
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> health() {
-        Map<String, Object> health = new HashMap<>();
-        health.put("status", "UP");
+        Health gateway = gatewayHealth.health();
+        Map<String, Object> health = new HashMap<>(gateway.getDetails());
+        health.put("status", gateway.getStatus().getCode());
         health.put("service", "API Gateway MCP");
-        return ResponseEntity.ok(health);
+        return Status.UP.equals(gateway.getStatus())
+                ? ResponseEntity.ok(health)
+                : ResponseEntity.status(503).body(health);
     }
 }
@@ -0,0 +1,111 @@
+package com.github.mcpgateway.controller;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mcpgateway.mcp.McpDispatcher;
+import com.github.mcpgateway.mcp.McpFrame;
+import com.github.mcpgateway.mcp.McpRequest;
+import com.github.mcpgateway.mcp.McpResponse;
+import com.github.mcpgateway.mcp.McpSessions;
+import com.github.mcpgateway.service.GatewayMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * MCP Streamable HTTP transport: JSON-RPC requests are POSTed to {@code /mcp} and
+ * answered with a JSON response, and {@code GET /mcp} opens an SSE stream for
+ * server-initiated messages. All sessions share the process's upstream pools and caches.
+ */
+@RestController
+@RequestMapping("/mcp")
+public class McpHttpController {
+
+    static final String SESSION_HEADER = "Mcp-Session-Id";
+
+    @Autowired
+    private McpDispatcher mcpDispatcher;
+
+    @Autowired
+    private McpSessions mcpSessions;
+
+    @Autowired
+    private GatewayMetrics metrics;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Object>> post(
+            @RequestHeader(value = SESSION_HEADER, required = false) String sessionId,
+            @RequestBody byte[] body) {
+
+        McpFrame frame;
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            frame = McpFrame.parse(parser);
+        } catch (JsonProcessingException e) {
+            metrics.recordMcpParseError("http");
+            return Mono.just(ResponseEntity.badRequest().body(McpResponse.error(null, "Invalid JSON: " + e.getOriginalMessage())));
+        } catch (IOException e) {
+            metrics.recordMcpParseError("http");
+            return Mono.just(ResponseEntity.badRequest().body(McpResponse.error(null, "Invalid JSON: " + e.getMessage())));
+        }
+        McpRequest request = frame.requests().get(0);
+
+        // initialize opens a new session; everything else must name a live one
+        if (!frame.batch() && "initialize".equals(request.method())) {
+            String newSessionId = mcpSessions.create().getId();
+            return mcpDispatcher.dispatch(request)
+                    .map(response -> ResponseEntity.ok().header(SESSION_HEADER, newSessionId).body(response));
+        }
+        Object requestId = frame.batch() ? null : request.id();
+        if (sessionId == null) {
+            return Mono.just(ResponseEntity.badRequest().body(McpResponse.error(requestId, "Missing " + SESSION_HEADER + " header")));
+        }
+        if (mcpSessions.touch(sessionId) == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(McpResponse.error(requestId, "Unknown session: " + sessionId)));
+        }
+
+        Mono<?> response = frame.batch() ? mcpDispatcher.dispatchBatch(frame.requests()) : mcpDispatcher.dispatch(request);
+        return response
+                .map(result -> ResponseEntity.ok().body((Object) result))
+                // Notifications are acknowledged without a body
+                .defaultIfEmpty(ResponseEntity.accepted().build());
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<Object>>> stream(
+            @RequestHeader(value = SESSION_HEADER, required = false) String sessionId) {
+
+        McpSessions.McpSession session = sessionId != null ? mcpSessions.touch(sessionId) : null;
+        if (session == null) {
+            return ResponseEntity.status(sessionId == null ? HttpStatus.BAD_REQUEST : HttpStatus.NOT_FOUND).build();
+        }
+
+        Flux<ServerSentEvent<Object>> messages = session.getEvents()
+                .map(message -> ServerSentEvent.builder(message).event("message").build());
+        // Comments keep idle proxies from closing the stream and keep the session alive
+        Flux<ServerSentEvent<Object>> keepAlive = Flux.interval(Duration.ofSeconds(15))
+                .takeWhile(tick -> mcpSessions.touch(session.getId()) != null)
+                .map(tick -> ServerSentEvent.builder().comment("keep-alive").build());
+
+        // The stream ends when the session is closed or expires
+        return ResponseEntity.ok(Flux.merge(messages, keepAlive).takeUntilOther(session.getEvents().then()));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> close(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId) {
+        if (sessionId == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return mcpSessions.remove(sessionId) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,153 @@
+package com.github.mcpgateway.mcp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.github.mcpgateway.model.ServerConfig;
+import com.github.mcpgateway.service.ApiWrapperMcpService;
+import com.github.mcpgateway.service.GatewayMetrics;
+import com.github.mcpgateway.service.InvalidArgumentsException;
+import com.github.mcpgateway.service.ToolExecutionPlan;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MCP method handling shared by the stdio and HTTP transports. Transports only
+ * parse frames and write back whatever response this produces.
+ */
+@Component
+public class McpDispatcher {
+
+    static final String PROTOCOL_VERSION = "2024-11-05";
+    // JSON-RPC "Invalid params"
+    static final int INVALID_PARAMS = -32602;
+
+    @Autowired
+    private ApiWrapperMcpService apiWrapperMcpService;
+
+    @Autowired
+    private ToolCatalog toolCatalog;
+
+    @Autowired
+    private GatewayMetrics metrics;
+
+    // Requests of one batch that run at the same time
+    @Value("${mcp.batch.max-concurrency:16}")
+    private int batchConcurrency;
+
+    /**
+     * Handles one request. Completes empty for notifications, which get no response.
+     */
+    public Mono<McpResponse> dispatch(McpRequest request) {
+        Mono<McpResponse> response = Mono.defer(() -> handle(request))
+                .onErrorResume(e -> Mono.just(McpResponse.error(request.id(), "Error processing request: " + e.getMessage())));
+        return metrics.timeMcpRequest(request.method(), response, result -> result.error() != null);
+    }
+
+    /**
+     * Runs the requests of a batch concurrently and collects their responses in request
+     * order. Completes empty when the batch only held notifications.
+     */
+    public Mono<List<McpResponse>> dispatchBatch(List<McpRequest> requests) {
+        return Flux.fromIterable(requests)
+                .flatMapSequential(this::dispatch, Math.max(1, batchConcurrency))
+                .collectList()
+                .filter(responses -> !responses.isEmpty());
+    }
+
+    private Mono<McpResponse> handle(McpRequest request) {
+        String method = request.method();
+        if (method == null) {
+            return Mono.just(McpResponse.error(request.id(), "Invalid request: missing method"));
+        }
+
+        switch (method) {
+            case "initialize":
+                return Mono.just(initializeResponse(request.id()));
+            case "tools/list":
+                return Mono.just(handleToolsList(request));
+            case "tools/call":
+                return handleToolsCall(request);
+            case "ping":
+                return Mono.just(McpResponse.result(request.id(), Map.of()));
+            default:
+                if (request.id() == null && method.startsWith("notifications/")) {
+                    return Mono.empty();
+                }
+                return Mono.just(McpResponse.error(request.id(), "Unknown method: " + method));
+        }
+    }
+
+    public McpResponse initializeResponse(Object id) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("protocolVersion", PROTOCOL_VERSION);
+        result.put("capabilities", createCapabilities());
+        result.put("serverInfo", createServerInfo());
+        return McpResponse.result(id, result);
+    }
+
+    private Map<String, Object> createCapabilities() {
+        Map<String, Object> capabilities = new HashMap<>();
+
+        Map<String, Object> tools = new HashMap<>();
+        tools.put("listChanged", true);
+        capabilities.put("tools", tools);
+
+        return capabilities;
+    }
+
+    private Map<String, Object> createServerInfo() {
+        ServerConfig config = apiWrapperMcpService.getServerConfig();
+        Map<String, Object> serverInfo = new HashMap<>();
+
+        if (config != null && config.getServer() != null) {
+            serverInfo.put("name", config.getServer().getName());
+            serverInfo.put("version", config.getServer().getVersion());
+        } else {
+            serverInfo.put("name", "API Gateway MCP");
+            serverInfo.put("version", "1.0.0");
+        }
+
+        return serverInfo;
+    }
+
+    private McpResponse handleToolsList(McpRequest request) {
+        // Pages are serialized once per configuration and written out as raw JSON
+        RawValue page;
+        try {
+            page = toolCatalog.getPage(request.cursor());
+        } catch (IllegalArgumentException e) {
+            return McpResponse.error(request.id(), e.getMessage());
+        }
+        return McpResponse.result(request.id(), page);
+    }
+
+    private Mono<McpResponse> handleToolsCall(McpRequest request) {
+        String toolName = request.toolName();
+        JsonNode arguments = request.arguments();
+
+        ToolExecutionPlan plan = toolName != null ? apiWrapperMcpService.findTool(toolName).orElse(null) : null;
+        if (plan == null) {
+            return Mono.just(McpResponse.error(request.id(), "Tool not found: " + toolName));
+        }
+
+        // Bind the arguments straight from the JSON, rejecting bad ones before anything is sent upstream
+        Object[] bound;
+        try {
+            bound = plan.bindArguments(arguments);
+        } catch (InvalidArgumentsException e) {
+            return Mono.just(McpResponse.error(request.id(), INVALID_PARAMS, e.getMessage(),
+                    Map.of("tool", toolName, "errors", e.getErrors())));
+        }
+
+        // Execute the tool
+        return apiWrapperMcpService.executeApiCallAsync(plan, bound)
+                .map(result -> McpResponse.result(request.id(), result));
+    }
+}
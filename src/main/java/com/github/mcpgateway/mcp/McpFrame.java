@@ -0,0 +1,43 @@
+package com.github.mcpgateway.mcp;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One JSON-RPC message as received by a transport: a single request, or a batch array
+ * whose responses go back together, in request order, as one array.
+ */
+public record McpFrame(List<McpRequest> requests, boolean batch) {
+
+    public static McpFrame parse(JsonParser parser) throws IOException {
+        McpFrame frame;
+        if (parser.nextToken() == JsonToken.START_ARRAY) {
+            List<McpRequest> requests = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() == JsonToken.START_OBJECT) {
+                    requests.add(McpRequest.read(parser));
+                } else {
+                    // Not a request object: answered with an error like a request without a method
+                    parser.skipChildren();
+                    requests.add(new McpRequest(null, null, null, null, null));
+                }
+            }
+            if (requests.isEmpty()) {
+                throw new JsonParseException(parser, "Empty batch request");
+            }
+            frame = new McpFrame(requests, true);
+        } else {
+            frame = new McpFrame(List.of(McpRequest.read(parser)), false);
+        }
+
+        if (parser.nextToken() != null) {
+            throw new JsonParseException(parser, "Unexpected content after the request");
+        }
+        return frame;
+    }
+}
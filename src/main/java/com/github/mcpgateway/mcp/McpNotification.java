@@ -0,0 +1,12 @@
+package com.github.mcpgateway.mcp;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A server-initiated JSON-RPC notification.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record McpNotification(String jsonrpc, String method, Object params) {
+
+    static final McpNotification TOOLS_LIST_CHANGED = new McpNotification("2.0", "notifications/tools/list_changed", null);
+}
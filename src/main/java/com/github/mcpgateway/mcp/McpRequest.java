@@ -0,0 +1,72 @@
+package com.github.mcpgateway.mcp;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+
+/**
+ * A JSON-RPC request frame, read field by field from the streaming parser. Only the
+ * {@code params} members the server understands are kept; everything else is skipped
+ * without being materialized. The id is kept as parsed so it is echoed back unchanged.
+ */
+public record McpRequest(JsonNode id, String method, String toolName, String cursor, JsonNode arguments) {
+
+    /**
+     * Reads the request object at the parser's current token.
+     */
+    public static McpRequest read(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a JSON-RPC request object");
+        }
+
+        JsonNode id = null;
+        String method = null;
+        String toolName = null;
+        String cursor = null;
+        JsonNode arguments = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> id = value == JsonToken.VALUE_NULL ? null : parser.readValueAsTree();
+                case "method" -> method = text(parser, value);
+                case "params" -> {
+                    if (value != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String param = parser.currentName();
+                        JsonToken paramValue = parser.nextToken();
+                        switch (param) {
+                            case "name" -> toolName = text(parser, paramValue);
+                            case "cursor" -> cursor = text(parser, paramValue);
+                            case "arguments" -> arguments = paramValue == JsonToken.START_OBJECT ? parser.readValueAsTree() : skip(parser);
+                            default -> parser.skipChildren();
+                        }
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return new McpRequest(id, method, toolName, cursor, arguments);
+    }
+
+    // Non-string values, objects and arrays included, are skipped and read as absent
+    private static String text(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private static JsonNode skip(JsonParser parser) throws IOException {
+        parser.skipChildren();
+        return null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.mcpgateway.mcp;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * A JSON-RPC response as written by every MCP transport. The id is omitted when the
+ * request could not be identified (for example when its JSON did not parse).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record McpResponse(String jsonrpc, Object id, Object result, Map<String, Object> error) {
+
+    public static McpResponse result(Object id, Object result) {
+        return new McpResponse("2.0", id, result, null);
+    }
+
+    public static McpResponse error(Object id, String message) {
+        return new McpResponse("2.0", id, null, Map.of("message", message));
+    }
+
+    public static McpResponse error(Object id, int code, String message, Object data) {
+        return new McpResponse("2.0", id, null, Map.of("code", code, "message", message, "data", data));
+    }
+}
@@ -1,231 +1,144 @@
 package com.github.mcpgateway.mcp;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.github.mcpgateway.model.ApiToolConfig;
-import com.github.mcpgateway.model.ServerConfig;
-import com.github.mcpgateway.service.ApiWrapperMcpService;
 import org.springframework.beans.factory.annotation.Autowired;
+import com.github.mcpgateway.service.GatewayMetrics;
+import com.github.mcpgateway.service.ToolRegistryChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.io.*;
-import java.util.*;
-import java.util.concurrent.CompletableFuture;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
 
 @Component
 public class McpServer {
     
     @Autowired
-    private ApiWrapperMcpService apiWrapperMcpService;
+    private McpDispatcher mcpDispatcher;
+    
+    @Autowired
+    private GatewayMetrics metrics;
+    
+    // Maximum number of tools/call requests executing at once (1 = sequential)
+    @Value("${mcp.server.max-in-flight:64}")
+    private int maxInFlight;
+    
+    // Seconds between metric dumps to stderr (0 = off)
+    @Value("${mcp.metrics.dump-interval:60}")
+    private long metricsDumpInterval;
     
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final Scanner scanner = new Scanner(System.in);
+    private volatile StdioTransport transport;
     
     public void start() {
+        int permits = Math.max(1, maxInFlight);
+        Semaphore inFlight = new Semaphore(permits);
+        // stdout is written through our own buffer; System.out would flush on every write
+        transport = new StdioTransport(objectMapper, new FileInputStream(FileDescriptor.in),
+                new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 64 * 1024));
+        
+        // stdout carries the protocol, so metrics go to stderr as one JSON object per line
+        Disposable metricsDump = metricsDumpInterval > 0
+                ? Flux.interval(Duration.ofSeconds(metricsDumpInterval)).subscribe(tick -> dumpMetrics())
+                : null;
+        
         try {
             // Initialize MCP handshake
             initializeMcpConnection();
             
             // Main message loop
             while (true) {
-                String line = scanner.nextLine();
-                if (line == null || line.trim().isEmpty()) {
+                McpFrame frame;
+                try {
+                    frame = transport.read();
+                } catch (JsonProcessingException e) {
+                    metrics.recordMcpParseError("stdio");
+                    sendError("Invalid JSON: " + e.getOriginalMessage());
                     continue;
                 }
+                if (frame == null) {
+                    break;
+                }
                 
-                try {
-                    JsonNode message = objectMapper.readTree(line);
-                    handleMessage(message);
-                } catch (Exception e) {
-                    sendError("Invalid JSON: " + e.getMessage());
+                if (frame.batch()) {
+                    handleBatch(frame.requests(), inFlight);
+                    continue;
                 }
+                
+                // Requests complete asynchronously and answer (matched by id) whenever
+                // their upstream call finishes; the reader only waits for a free slot
+                inFlight.acquire();
+                mcpDispatcher.dispatch(frame.requests().get(0))
+                        .doFinally(signal -> inFlight.release())
+                        .subscribe(transport::send);
             }
+            
+            // Let in-flight calls finish and flush their responses before exiting
+            inFlight.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
             sendError("MCP Server error: " + e.getMessage());
-        }
-    }
-    
-    private void initializeMcpConnection() {
-        // Send initialize response
-        Map<String, Object> response = new HashMap<>();
-        response.put("jsonrpc", "2.0");
-        response.put("id", 1);
-        
-        Map<String, Object> result = new HashMap<>();
-        result.put("protocolVersion", "2024-11-05");
-        result.put("capabilities", createCapabilities());
-        result.put("serverInfo", createServerInfo());
-        
-        response.put("result", result);
-        
-        sendMessage(response);
-    }
-    
-    private Map<String, Object> createCapabilities() {
-        Map<String, Object> capabilities = new HashMap<>();
-        
-        Map<String, Object> tools = new HashMap<>();
-        tools.put("listChanged", true);
-        capabilities.put("tools", tools);
-        
-        return capabilities;
-    }
-    
-    private Map<String, Object> createServerInfo() {
-        ServerConfig config = apiWrapperMcpService.getServerConfig();
-        Map<String, Object> serverInfo = new HashMap<>();
-        
-        if (config != null && config.getServer() != null) {
-            serverInfo.put("name", config.getServer().getName());
-            serverInfo.put("version", config.getServer().getVersion());
-        } else {
-            serverInfo.put("name", "API Gateway MCP");
-            serverInfo.put("version", "1.0.0");
-        }
-        
-        return serverInfo;
-    }
-    
-    private void handleMessage(JsonNode message) {
-        String method = message.get("method").asText();
-        
-        switch (method) {
-            case "tools/list":
-                handleToolsList(message);
-                break;
-            case "tools/call":
-                handleToolsCall(message);
-                break;
-            case "ping":
-                handlePing(message);
-                break;
-            default:
-                sendError("Unknown method: " + method);
-        }
-    }
-    
-    private void handleToolsList(JsonNode message) {
-        ServerConfig config = apiWrapperMcpService.getServerConfig();
-        List<Map<String, Object>> tools = new ArrayList<>();
-        
-        if (config != null && config.getTools() != null) {
-            for (ApiToolConfig toolConfig : config.getTools()) {
-                Map<String, Object> tool = new HashMap<>();
-                tool.put("name", toolConfig.getName());
-                tool.put("description", toolConfig.getDescription());
-                tool.put("inputSchema", createInputSchema(toolConfig));
-                tools.add(tool);
+        } finally {
+            if (metricsDump != null) {
+                metricsDump.dispose();
+                dumpMetrics();
             }
         }
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("jsonrpc", "2.0");
-        response.put("id", message.get("id"));
-        
-        Map<String, Object> result = new HashMap<>();
-        result.put("tools", tools);
-        response.put("result", result);
-        
-        sendMessage(response);
     }
     
-    private void handleToolsCall(JsonNode message) {
-        JsonNode params = message.get("params");
-        String toolName = params.get("name").asText();
-        JsonNode arguments = params.get("arguments");
-        
-        ServerConfig config = apiWrapperMcpService.getServerConfig();
-        ApiToolConfig toolConfig = null;
-        
-        if (config != null && config.getTools() != null) {
-            toolConfig = config.getTools().stream()
-                    .filter(tool -> tool.getName().equals(toolName))
-                    .findFirst()
-                    .orElse(null);
-        }
-        
-        if (toolConfig == null) {
-            sendError("Tool not found: " + toolName);
-            return;
-        }
-        
-        // Convert arguments to Map
-        Map<String, Object> input = new HashMap<>();
-        if (arguments != null) {
-            arguments.fields().forEachRemaining(entry -> {
-                input.put(entry.getKey(), entry.getValue());
-            });
+    private void dumpMetrics() {
+        try {
+            System.err.println(objectMapper.writeValueAsString(metrics.snapshot()));
+        } catch (JsonProcessingException e) {
+            System.err.println("Metrics dump failed: " + e.getMessage());
         }
-        
-        // Execute the tool
-        Map<String, Object> result = apiWrapperMcpService.executeApiCall(toolConfig, input);
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("jsonrpc", "2.0");
-        response.put("id", message.get("id"));
-        response.put("result", result);
-        
-        sendMessage(response);
     }
     
-    private void handlePing(JsonNode message) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("jsonrpc", "2.0");
-        response.put("id", message.get("id"));
-        response.put("result", new HashMap<>());
+    private void handleBatch(List<McpRequest> requests, Semaphore inFlight) throws InterruptedException {
+        // Each request of the batch starts as soon as it gets a slot of the shared in-flight
+        // limit; the batch response is written once all of them are done, in request order
+        List<Mono<McpResponse>> calls = new ArrayList<>(requests.size());
+        for (McpRequest request : requests) {
+            inFlight.acquire();
+            Mono<McpResponse> call = mcpDispatcher.dispatch(request)
+                    .doFinally(signal -> inFlight.release())
+                    .cache();
+            call.subscribe();
+            calls.add(call);
+        }
         
-        sendMessage(response);
+        Flux.concat(calls)
+                .collectList()
+                // A batch of notifications gets no response at all
+                .filter(responses -> !responses.isEmpty())
+                .subscribe(transport::send);
     }
     
-    private Map<String, Object> createInputSchema(ApiToolConfig toolConfig) {
-        Map<String, Object> schema = new HashMap<>();
-        schema.put("type", "object");
-        
-        Map<String, Object> properties = new HashMap<>();
-        List<String> required = new ArrayList<>();
-        
-        if (toolConfig.getParameters() != null) {
-            for (Map.Entry<String, com.github.mcpgateway.model.ParameterConfig> entry : toolConfig.getParameters().entrySet()) {
-                String paramName = entry.getKey();
-                com.github.mcpgateway.model.ParameterConfig paramConfig = entry.getValue();
-                
-                Map<String, Object> paramSchema = new HashMap<>();
-                paramSchema.put("type", paramConfig.getType());
-                paramSchema.put("description", paramConfig.getDescription());
-                
-                if (paramConfig.getDefaultValue() != null) {
-                    paramSchema.put("default", paramConfig.getDefaultValue());
-                }
-                
-                properties.put(paramName, paramSchema);
-                
-                if (paramConfig.isRequired()) {
-                    required.add(paramName);
-                }
-            }
+    @EventListener
+    public void onToolRegistryChanged(ToolRegistryChangedEvent event) {
+        // Only while serving stdio; tools/list pages are rebuilt on the next request
+        StdioTransport current = transport;
+        if (current != null) {
+            current.send(McpNotification.TOOLS_LIST_CHANGED);
         }
-        
-        schema.put("properties", properties);
-        schema.put("required", required);
-        
-        return schema;
     }
     
-    private void sendMessage(Map<String, Object> message) {
-        try {
-            String json = objectMapper.writeValueAsString(message);
-            System.out.println(json);
-            System.out.flush();
-        } catch (Exception e) {
-            System.err.println("Error sending message: " + e.getMessage());
-        }
+    private void initializeMcpConnection() {
+        // Send initialize response
+        transport.send(mcpDispatcher.initializeResponse(1));
     }
     
     private void sendError(String error) {
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("jsonrpc", "2.0");
-        errorResponse.put("error", Map.of("message", error));
-        
-        sendMessage(errorResponse);
+        // Responses may complete on several threads; the transport keeps each frame intact
+        transport.send(McpResponse.error(null, error));
     }
 }
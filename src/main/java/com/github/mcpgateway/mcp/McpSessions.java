@@ -0,0 +1,108 @@
+package com.github.mcpgateway.mcp;
+
+import com.github.mcpgateway.service.ToolRegistryChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sessions of the Streamable HTTP transport. A session is created by {@code initialize}
+ * and identified by the {@code Mcp-Session-Id} header on every later request; sessions
+ * that stay idle longer than {@code mcp.http.session-timeout} seconds are dropped.
+ */
+@Component
+public class McpSessions {
+
+    @Value("${mcp.http.session-timeout:1800}")
+    private long sessionTimeoutSeconds;
+
+    private final Map<String, McpSession> sessions = new ConcurrentHashMap<>();
+
+    public McpSession create() {
+        removeExpired();
+        McpSession session = new McpSession(UUID.randomUUID().toString());
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * Returns the live session with the given id and marks it as used, or {@code null}.
+     */
+    public McpSession touch(String sessionId) {
+        McpSession session = sessions.get(sessionId);
+        if (session == null) {
+            return null;
+        }
+        if (isExpired(session)) {
+            remove(sessionId);
+            return null;
+        }
+        session.lastAccess = System.nanoTime();
+        return session;
+    }
+
+    public boolean remove(String sessionId) {
+        McpSession session = sessions.remove(sessionId);
+        if (session == null) {
+            return false;
+        }
+        session.events.tryEmitComplete();
+        return true;
+    }
+
+    /**
+     * Sends a server-initiated message to every session with an open event stream.
+     */
+    public void broadcast(Object message) {
+        sessions.values().forEach(session -> session.events.tryEmitNext(message));
+    }
+
+    @EventListener
+    public void onToolRegistryChanged(ToolRegistryChangedEvent event) {
+        broadcast(McpNotification.TOOLS_LIST_CHANGED);
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    private void removeExpired() {
+        sessions.values().removeIf(session -> {
+            if (isExpired(session)) {
+                session.events.tryEmitComplete();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private boolean isExpired(McpSession session) {
+        return System.nanoTime() - session.lastAccess > TimeUnit.SECONDS.toNanos(sessionTimeoutSeconds);
+    }
+
+    public static final class McpSession {
+        private final String id;
+        // Messages for the session's GET event stream; dropped while no stream is open
+        private final Sinks.Many<Object> events = Sinks.many().multicast().directBestEffort();
+        private volatile long lastAccess = System.nanoTime();
+
+        private McpSession(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Flux<Object> getEvents() {
+            return events.asFlux();
+        }
+    }
+}
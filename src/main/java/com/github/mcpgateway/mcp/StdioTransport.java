@@ -0,0 +1,168 @@
+package com.github.mcpgateway.mcp;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Newline-delimited JSON-RPC over a pair of byte streams.
+ * <p>
+ * Frames are split on raw bytes and parsed straight out of the read buffer (lines that
+ * span two reads are joined in a reusable line buffer), so no String is ever decoded.
+ * Responses are written by one reusable generator into a frame buffer and copied into
+ * the buffered output; the output is only flushed by the last of several writers that
+ * were ready at the same time.
+ */
+final class StdioTransport {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final InputStream in;
+    private final OutputStream out;
+
+    // Read side, only used by the reader thread
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private byte[] line = new byte[1024];
+    private byte[] frame;
+    private int frameOffset;
+    private int frameLength;
+
+    // Write side, guarded by writeLock
+    private final Object writeLock = new Object();
+    private final AtomicInteger waitingWriters = new AtomicInteger();
+    // Reused for every response; reset() keeps the allocated array
+    private final ByteArrayOutputStream frameBuffer = new ByteArrayOutputStream(8192);
+    private JsonGenerator generator;
+
+    StdioTransport(ObjectMapper objectMapper, InputStream in, OutputStream out) {
+        this.objectMapper = objectMapper;
+        this.in = in;
+        this.out = out;
+    }
+
+    /**
+     * Reads the next non-blank frame, or returns {@code null} at the end of the input.
+     *
+     * @throws com.fasterxml.jackson.core.JsonProcessingException if the frame is not a valid request
+     */
+    McpFrame read() throws IOException {
+        while (nextFrame()) {
+            if (isBlank()) {
+                continue;
+            }
+            try (JsonParser parser = objectMapper.createParser(frame, frameOffset, frameLength)) {
+                return McpFrame.parse(parser);
+            }
+        }
+        return null;
+    }
+
+    private boolean nextFrame() throws IOException {
+        int length = 0;
+        while (true) {
+            if (position == limit) {
+                int read = in.read(buffer);
+                position = 0;
+                limit = Math.max(read, 0);
+                if (read <= 0) {
+                    setFrame(line, 0, length);
+                    return length > 0;
+                }
+            }
+
+            int start = position;
+            while (position < limit && buffer[position] != '\n') {
+                position++;
+            }
+            boolean complete = position < limit;
+
+            if (complete && length == 0) {
+                // The whole line is in the read buffer: parse it in place
+                setFrame(buffer, start, position - start);
+                position++;
+                return true;
+            }
+
+            int chunk = position - start;
+            if (length + chunk > line.length) {
+                line = Arrays.copyOf(line, Math.max(line.length * 2, length + chunk));
+            }
+            System.arraycopy(buffer, start, line, length, chunk);
+            length += chunk;
+
+            if (complete) {
+                setFrame(line, 0, length);
+                position++;
+                return true;
+            }
+        }
+    }
+
+    private void setFrame(byte[] bytes, int offset, int length) {
+        frame = bytes;
+        frameOffset = offset;
+        frameLength = length;
+    }
+
+    private boolean isBlank() {
+        for (int i = frameOffset; i < frameOffset + frameLength; i++) {
+            byte b = frame[i];
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes one message as a single line. Safe to call from any thread.
+     */
+    void send(Object message) {
+        waitingWriters.incrementAndGet();
+        synchronized (writeLock) {
+            try {
+                JsonGenerator gen = generator();
+                gen.writeObject(message);
+                gen.flush();
+                frameBuffer.write('\n');
+                frameBuffer.writeTo(out);
+            } catch (Exception e) {
+                // A half-written frame never reaches the output; start over with a fresh generator
+                generator = null;
+                System.err.println("Error sending message: " + e.getMessage());
+            } finally {
+                frameBuffer.reset();
+                // Whoever is queued behind us will flush; the last writer of a burst does it
+                if (waitingWriters.decrementAndGet() == 0) {
+                    flush();
+                }
+            }
+        }
+    }
+
+    private JsonGenerator generator() throws IOException {
+        if (generator == null) {
+            generator = objectMapper.createGenerator(frameBuffer);
+            generator.setRootValueSeparator(null);
+        }
+        return generator;
+    }
+
+    private void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("Error flushing output: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.github.mcpgateway.mcp;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.github.mcpgateway.model.ApiToolConfig;
+import com.github.mcpgateway.model.ParameterConfig;
+import com.github.mcpgateway.service.ApiWrapperMcpService;
+import com.github.mcpgateway.service.ToolExecutionPlan;
+import com.github.mcpgateway.service.ToolRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Serves the MCP tools/list result. Tool definitions and input schemas only change
+ * with the configuration, so every page is serialized once per loaded {@link ToolRegistry}
+ * and handed out as a pre-encoded raw JSON value.
+ */
+@Component
+public class ToolCatalog {
+
+    @Autowired
+    private ApiWrapperMcpService apiWrapperMcpService;
+
+    // Tools per tools/list page (0 = everything in a single page)
+    @Value("${mcp.tools-list.page-size:0}")
+    private int pageSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private volatile CachedPages cachedPages;
+
+    /**
+     * Returns the serialized tools/list result starting at the given cursor
+     * ({@code null} for the first page).
+     *
+     * @throws IllegalArgumentException if the cursor does not point at a page
+     */
+    public RawValue getPage(String cursor) {
+        RawValue[] pages = getPages();
+        int index = 0;
+        if (cursor != null) {
+            try {
+                index = Integer.parseInt(cursor);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            if (index < 0 || index >= pages.length) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+        return pages[index];
+    }
+
+    private RawValue[] getPages() {
+        ToolRegistry registry = apiWrapperMcpService.getToolRegistry();
+        CachedPages cached = cachedPages;
+        if (cached == null || cached.registry() != registry) {
+            cached = new CachedPages(registry, buildPages(registry));
+            cachedPages = cached;
+        }
+        return cached.pages();
+    }
+
+    RawValue[] buildPages(ToolRegistry registry) {
+        List<Map<String, Object>> tools = new ArrayList<>();
+        if (registry != null) {
+            for (ToolExecutionPlan plan : registry.getPlans()) {
+                ApiToolConfig toolConfig = plan.getTool();
+                Map<String, Object> tool = new HashMap<>();
+                tool.put("name", toolConfig.getName());
+                tool.put("description", toolConfig.getDescription());
+                tool.put("inputSchema", createInputSchema(toolConfig, plan.getPathVariables()));
+                tools.add(tool);
+            }
+        }
+
+        int size = pageSize > 0 ? pageSize : Math.max(1, tools.size());
+        int pageCount = Math.max(1, (tools.size() + size - 1) / size);
+        RawValue[] pages = new RawValue[pageCount];
+
+        for (int page = 0; page < pageCount; page++) {
+            int from = page * size;
+            int to = Math.min(tools.size(), from + size);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("tools", tools.subList(from, to));
+            if (to < tools.size()) {
+                result.put("nextCursor", String.valueOf(to / size));
+            }
+
+            try {
+                pages[page] = new RawValue(new SerializedString(objectMapper.writeValueAsString(result)));
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to serialize tools/list page " + page, e);
+            }
+        }
+        return pages;
+    }
+
+    public Map<String, Object> createInputSchema(ApiToolConfig toolConfig) {
+        return createInputSchema(toolConfig, List.of());
+    }
+
+    /**
+     * @param pathVariables parameters listed as required even if not declared as such
+     */
+    public Map<String, Object> createInputSchema(ApiToolConfig toolConfig, Collection<String> pathVariables) {
+        Map<String, Object> schema = new HashMap<>();
+        schema.put("type", "object");
+
+        Map<String, Object> properties = new HashMap<>();
+        List<String> required = new ArrayList<>();
+
+        if (toolConfig.getParameters() != null) {
+            for (Map.Entry<String, ParameterConfig> entry : toolConfig.getParameters().entrySet()) {
+                String paramName = entry.getKey();
+                ParameterConfig paramConfig = entry.getValue();
+
+                Map<String, Object> paramSchema = new HashMap<>();
+                paramSchema.put("type", paramConfig.getType());
+                paramSchema.put("description", paramConfig.getDescription());
+
+                if (paramConfig.getDefaultValue() != null) {
+                    paramSchema.put("default", paramConfig.getDefaultValue());
+                }
+
+                properties.put(paramName, paramSchema);
+
+                if (paramConfig.isRequired() || pathVariables.contains(paramName)) {
+                    required.add(paramName);
+                }
+            }
+        }
+
+        schema.put("properties", properties);
+        schema.put("required", required);
+
+        return schema;
+    }
+
+    private record CachedPages(ToolRegistry registry, RawValue[] pages) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.mcpgateway.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
 import java.util.Map;
 
 public class ApiToolConfig {
@@ -9,10 +10,20 @@ public class ApiToolConfig {
     private String endpoint;
     private String method;
     private Integer timeout;
+    @JsonProperty("connect_timeout_ms")
+    private Integer connectTimeoutMs;
+    @JsonProperty("read_timeout_ms")
+    private Integer readTimeoutMs;
+    private RetryConfig retry;
+    private HedgeConfig hedge;
     private String template;
     @JsonProperty("query_params")
     private Map<String, String> queryParams;
     private Map<String, ParameterConfig> parameters;
+    private CacheConfig cache;
+    private boolean coalesce;
+    private ResponseConfig response;
+    private LimitsConfig limits;
 
     // Constructors
     public ApiToolConfig() {}
@@ -58,6 +69,38 @@ public class ApiToolConfig {
         this.timeout = timeout;
     }
 
+    public Integer getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+
+    public void setConnectTimeoutMs(Integer connectTimeoutMs) {
+        this.connectTimeoutMs = connectTimeoutMs;
+    }
+
+    public Integer getReadTimeoutMs() {
+        return readTimeoutMs;
+    }
+
+    public void setReadTimeoutMs(Integer readTimeoutMs) {
+        this.readTimeoutMs = readTimeoutMs;
+    }
+
+    public RetryConfig getRetry() {
+        return retry;
+    }
+
+    public void setRetry(RetryConfig retry) {
+        this.retry = retry;
+    }
+
+    public HedgeConfig getHedge() {
+        return hedge;
+    }
+
+    public void setHedge(HedgeConfig hedge) {
+        this.hedge = hedge;
+    }
+
     public String getTemplate() {
         return template;
     }
@@ -81,4 +124,196 @@ public class ApiToolConfig {
     public void setParameters(Map<String, ParameterConfig> parameters) {
         this.parameters = parameters;
     }
+
+    public CacheConfig getCache() {
+        return cache;
+    }
+
+    public void setCache(CacheConfig cache) {
+        this.cache = cache;
+    }
+
+    public boolean isCoalesce() {
+        return coalesce;
+    }
+
+    public void setCoalesce(boolean coalesce) {
+        this.coalesce = coalesce;
+    }
+
+    public ResponseConfig getResponse() {
+        return response;
+    }
+
+    public void setResponse(ResponseConfig response) {
+        this.response = response;
+    }
+
+    public LimitsConfig getLimits() {
+        return limits;
+    }
+
+    public void setLimits(LimitsConfig limits) {
+        this.limits = limits;
+    }
+
+    public static class CacheConfig {
+        private Integer ttl;
+        @JsonProperty("max_entries")
+        private Integer maxEntries;
+        @JsonProperty("max_bytes")
+        private Long maxBytes;
+        @JsonProperty("stale_while_revalidate")
+        private Integer staleWhileRevalidate;
+
+        // Getters and Setters
+        public Integer getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Integer ttl) {
+            this.ttl = ttl;
+        }
+
+        public Integer getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(Integer maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public Long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(Long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public Integer getStaleWhileRevalidate() {
+            return staleWhileRevalidate;
+        }
+
+        public void setStaleWhileRevalidate(Integer staleWhileRevalidate) {
+            this.staleWhileRevalidate = staleWhileRevalidate;
+        }
+    }
+
+    public static class RetryConfig {
+        @JsonProperty("max_attempts")
+        private Integer maxAttempts;
+        @JsonProperty("backoff_ms")
+        private Integer backoffMs;
+        @JsonProperty("max_backoff_ms")
+        private Integer maxBackoffMs;
+        private Double jitter;
+
+        // Getters and Setters
+        public Integer getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(Integer maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Integer getBackoffMs() {
+            return backoffMs;
+        }
+
+        public void setBackoffMs(Integer backoffMs) {
+            this.backoffMs = backoffMs;
+        }
+
+        public Integer getMaxBackoffMs() {
+            return maxBackoffMs;
+        }
+
+        public void setMaxBackoffMs(Integer maxBackoffMs) {
+            this.maxBackoffMs = maxBackoffMs;
+        }
+
+        public Double getJitter() {
+            return jitter;
+        }
+
+        public void setJitter(Double jitter) {
+            this.jitter = jitter;
+        }
+    }
+
+    public static class HedgeConfig {
+        @JsonProperty("delay_ms")
+        private Integer delayMs;
+        private Double percentile;
+
+        // Getters and Setters
+        public Integer getDelayMs() {
+            return delayMs;
+        }
+
+        public void setDelayMs(Integer delayMs) {
+            this.delayMs = delayMs;
+        }
+
+        public Double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(Double percentile) {
+            this.percentile = percentile;
+        }
+    }
+
+    public static class ResponseConfig {
+        private boolean streaming;
+        @JsonProperty("max_bytes")
+        private Long maxBytes;
+        private List<String> fields;
+        private List<String> drop;
+        @JsonProperty("max_array_items")
+        private Integer maxArrayItems;
+
+        // Getters and Setters
+        public boolean isStreaming() {
+            return streaming;
+        }
+
+        public void setStreaming(boolean streaming) {
+            this.streaming = streaming;
+        }
+
+        public Long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(Long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public List<String> getFields() {
+            return fields;
+        }
+
+        public void setFields(List<String> fields) {
+            this.fields = fields;
+        }
+
+        public List<String> getDrop() {
+            return drop;
+        }
+
+        public void setDrop(List<String> drop) {
+            this.drop = drop;
+        }
+
+        public Integer getMaxArrayItems() {
+            return maxArrayItems;
+        }
+
+        public void setMaxArrayItems(Integer maxArrayItems) {
+            this.maxArrayItems = maxArrayItems;
+        }
+    }
 }
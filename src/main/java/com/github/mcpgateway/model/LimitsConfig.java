@@ -0,0 +1,64 @@
+package com.github.mcpgateway.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Rate limit and concurrency bulkhead for a tool ({@code limits} on the tool) or for
+ * every tool calling a host ({@code limits} under {@code upstreams}). Calls over the
+ * limit wait in a bounded queue instead of failing right away.
+ */
+public class LimitsConfig {
+    @JsonProperty("requests_per_second")
+    private Double requestsPerSecond;
+    private Integer burst;
+    @JsonProperty("max_concurrent")
+    private Integer maxConcurrent;
+    @JsonProperty("max_queue")
+    private Integer maxQueue;
+    @JsonProperty("max_wait_ms")
+    private Integer maxWaitMs;
+
+    // Constructors
+    public LimitsConfig() {}
+
+    // Getters and Setters
+    public Double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public void setRequestsPerSecond(Double requestsPerSecond) {
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    public Integer getBurst() {
+        return burst;
+    }
+
+    public void setBurst(Integer burst) {
+        this.burst = burst;
+    }
+
+    public Integer getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(Integer maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public Integer getMaxQueue() {
+        return maxQueue;
+    }
+
+    public void setMaxQueue(Integer maxQueue) {
+        this.maxQueue = maxQueue;
+    }
+
+    public Integer getMaxWaitMs() {
+        return maxWaitMs;
+    }
+
+    public void setMaxWaitMs(Integer maxWaitMs) {
+        this.maxWaitMs = maxWaitMs;
+    }
+}
@@ -8,6 +8,7 @@ public class ServerConfig {
     private ServerInfo server;
     private AuthConfig auth;
     private List<ApiToolConfig> tools;
+    private Map<String, UpstreamConfig> upstreams;
 
     // Constructors
     public ServerConfig() {}
@@ -37,6 +38,14 @@ public class ServerConfig {
         this.tools = tools;
     }
 
+    public Map<String, UpstreamConfig> getUpstreams() {
+        return upstreams;
+    }
+
+    public void setUpstreams(Map<String, UpstreamConfig> upstreams) {
+        this.upstreams = upstreams;
+    }
+
     public static class ServerInfo {
         private String name;
         private String description;
@@ -81,4 +90,206 @@ public class ServerConfig {
             this.tokenEnvVar = tokenEnvVar;
         }
     }
+
+    /**
+     * Connection pool and HTTP settings for one upstream host (the key in {@code upstreams}).
+     */
+    public static class UpstreamConfig {
+        @JsonProperty("max_connections")
+        private Integer maxConnections;
+        @JsonProperty("pending_acquire_max_count")
+        private Integer pendingAcquireMaxCount;
+        @JsonProperty("pending_acquire_timeout_ms")
+        private Integer pendingAcquireTimeoutMs;
+        @JsonProperty("max_idle_time_ms")
+        private Integer maxIdleTimeMs;
+        @JsonProperty("max_life_time_ms")
+        private Integer maxLifeTimeMs;
+        @JsonProperty("eviction_interval_ms")
+        private Integer evictionIntervalMs;
+        @JsonProperty("connect_timeout_ms")
+        private Integer connectTimeoutMs;
+        @JsonProperty("keep_alive")
+        private Boolean keepAlive;
+        private Boolean http2;
+        private Boolean compression;
+        private LimitsConfig limits;
+        @JsonProperty("circuit_breaker")
+        private CircuitBreakerConfig circuitBreaker;
+
+        // Getters and Setters
+        public Integer getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(Integer maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public Integer getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+
+        public void setPendingAcquireMaxCount(Integer pendingAcquireMaxCount) {
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        }
+
+        public Integer getPendingAcquireTimeoutMs() {
+            return pendingAcquireTimeoutMs;
+        }
+
+        public void setPendingAcquireTimeoutMs(Integer pendingAcquireTimeoutMs) {
+            this.pendingAcquireTimeoutMs = pendingAcquireTimeoutMs;
+        }
+
+        public Integer getMaxIdleTimeMs() {
+            return maxIdleTimeMs;
+        }
+
+        public void setMaxIdleTimeMs(Integer maxIdleTimeMs) {
+            this.maxIdleTimeMs = maxIdleTimeMs;
+        }
+
+        public Integer getMaxLifeTimeMs() {
+            return maxLifeTimeMs;
+        }
+
+        public void setMaxLifeTimeMs(Integer maxLifeTimeMs) {
+            this.maxLifeTimeMs = maxLifeTimeMs;
+        }
+
+        public Integer getEvictionIntervalMs() {
+            return evictionIntervalMs;
+        }
+
+        public void setEvictionIntervalMs(Integer evictionIntervalMs) {
+            this.evictionIntervalMs = evictionIntervalMs;
+        }
+
+        public Integer getConnectTimeoutMs() {
+            return connectTimeoutMs;
+        }
+
+        public void setConnectTimeoutMs(Integer connectTimeoutMs) {
+            this.connectTimeoutMs = connectTimeoutMs;
+        }
+
+        public Boolean getKeepAlive() {
+            return keepAlive;
+        }
+
+        public void setKeepAlive(Boolean keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+
+        public Boolean getHttp2() {
+            return http2;
+        }
+
+        public void setHttp2(Boolean http2) {
+            this.http2 = http2;
+        }
+
+        public Boolean getCompression() {
+            return compression;
+        }
+
+        public void setCompression(Boolean compression) {
+            this.compression = compression;
+        }
+
+        public LimitsConfig getLimits() {
+            return limits;
+        }
+
+        public void setLimits(LimitsConfig limits) {
+            this.limits = limits;
+        }
+
+        public CircuitBreakerConfig getCircuitBreaker() {
+            return circuitBreaker;
+        }
+
+        public void setCircuitBreaker(CircuitBreakerConfig circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+        }
+    }
+
+    /**
+     * Circuit breaker for one upstream host. Rates are percentages of the calls in the
+     * sliding window; slow calls only count when {@code slow_call_duration_ms} is set.
+     */
+    public static class CircuitBreakerConfig {
+        @JsonProperty("failure_rate_threshold")
+        private Double failureRateThreshold;
+        @JsonProperty("slow_call_rate_threshold")
+        private Double slowCallRateThreshold;
+        @JsonProperty("slow_call_duration_ms")
+        private Integer slowCallDurationMs;
+        @JsonProperty("window_size")
+        private Integer windowSize;
+        @JsonProperty("minimum_calls")
+        private Integer minimumCalls;
+        @JsonProperty("open_duration_ms")
+        private Integer openDurationMs;
+        @JsonProperty("half_open_calls")
+        private Integer halfOpenCalls;
+
+        // Getters and Setters
+        public Double getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(Double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public Double getSlowCallRateThreshold() {
+            return slowCallRateThreshold;
+        }
+
+        public void setSlowCallRateThreshold(Double slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+        }
+
+        public Integer getSlowCallDurationMs() {
+            return slowCallDurationMs;
+        }
+
+        public void setSlowCallDurationMs(Integer slowCallDurationMs) {
+            this.slowCallDurationMs = slowCallDurationMs;
+        }
+
+        public Integer getWindowSize() {
+            return windowSize;
+        }
+
+        public void setWindowSize(Integer windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        public Integer getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(Integer minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public Integer getOpenDurationMs() {
+            return openDurationMs;
+        }
+
+        public void setOpenDurationMs(Integer openDurationMs) {
+            this.openDurationMs = openDurationMs;
+        }
+
+        public Integer getHalfOpenCalls() {
+            return halfOpenCalls;
+        }
+
+        public void setHalfOpenCalls(Integer halfOpenCalls) {
+            this.halfOpenCalls = halfOpenCalls;
+        }
+    }
 }
@@ -1,22 +1,44 @@
 package com.github.mcpgateway.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.github.mcpgateway.model.ApiToolConfig;
+import com.fasterxml.jackson.databind.util.RawValue;
 import com.github.mcpgateway.model.ServerConfig;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.netty.http.client.HttpClientRequest;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 @Service
 public class ApiWrapperMcpService {
@@ -24,29 +46,109 @@ public class ApiWrapperMcpService {
     @Value("${mcp.config.file:api-config.yaml}")
     private String configFilePath;
 
-    private ServerConfig serverConfig;
-    private WebClient webClient;
+    // Total deadline in seconds for tools that don't set their own timeout
+    @Value("${mcp.upstream.default-timeout:60}")
+    private int defaultTimeoutSeconds;
+
+    // Reload the configuration when its file changes on disk
+    @Value("${mcp.config.watch:true}")
+    private boolean watchConfig;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private GatewayMetrics metrics;
+
+    // Immutable snapshot of the active configuration, swapped as a whole on reload
+    private volatile ToolRegistry toolRegistry;
+    private volatile UpstreamClients upstreamClients;
+    private ConfigWatcher configWatcher;
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     @PostConstruct
     public void initialize() {
-        loadConfiguration();
+        toolRegistry = loadConfiguration(null);
         initializeWebClient();
+        if (watchConfig) {
+            startConfigWatcher();
+        }
     }
 
-    private void loadConfiguration() {
+    private ToolRegistry loadConfiguration(ToolRegistry previous) {
         try {
             // Use Jackson ObjectMapper for better YAML support
             ObjectMapper mapper = new ObjectMapper(new com.fasterxml.jackson.dataformat.yaml.YAMLFactory());
             Resource resource = getConfigResource();
-            InputStream inputStream = resource.getInputStream();
-            serverConfig = mapper.readValue(inputStream, ServerConfig.class);
+            ServerConfig serverConfig;
+            try (InputStream inputStream = resource.getInputStream()) {
+                serverConfig = mapper.readValue(inputStream, ServerConfig.class);
+            }
+            ToolRegistry registry = ToolRegistry.build(serverConfig, previous);
             
             // Only show configuration log if not running in MCP mode
             if (!isMcpMode()) {
                 System.err.println("✅ Configuration loaded from: " + resource.getDescription());
             }
+            return registry;
         } catch (IOException e) {
-            throw new RuntimeException("Failed to load configuration from: " + configFilePath, e);
+            throw new RuntimeException("Failed to load configuration from: " + configFilePath + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parses and compiles the configuration file again and swaps it in. Calls already running
+     * finish on the previous tool plans; if the new file is invalid, the current one stays active.
+     * Tools keep their cache, coalescing, hedging and rate limit state where its settings are unchanged.
+     *
+     * @return the new registry
+     */
+    public synchronized ToolRegistry reloadConfiguration() {
+        ToolRegistry previous = toolRegistry;
+        ToolRegistry registry = loadConfiguration(previous);
+
+        if (!sameUpstreams(previous.getServerConfig(), registry.getServerConfig())) {
+            UpstreamClients previousClients = upstreamClients;
+            upstreamClients = new UpstreamClients(registry.getServerConfig().getUpstreams(), 1024 * 1024, metrics);
+            // The old pools close once every call that may still use them is past its deadline
+            Mono.delay(longestDeadline(previous)).subscribe(ignored -> previousClients.dispose());
+        }
+        toolRegistry = registry;
+
+        System.err.println("🔄 Configuration reloaded: " + registry.size() + " tools");
+        eventPublisher.publishEvent(new ToolRegistryChangedEvent(registry));
+        return registry;
+    }
+
+    private boolean sameUpstreams(ServerConfig previous, ServerConfig current) {
+        return objectMapper.valueToTree(previous.getUpstreams()).equals(objectMapper.valueToTree(current.getUpstreams()));
+    }
+
+    private Duration longestDeadline(ToolRegistry registry) {
+        Duration longest = Duration.ofSeconds(defaultTimeoutSeconds);
+        for (ToolExecutionPlan plan : registry.getPlans()) {
+            if (plan.getTimeout() != null && plan.getTimeout().compareTo(longest) > 0) {
+                longest = plan.getTimeout();
+            }
+        }
+        return longest;
+    }
+
+    private void startConfigWatcher() {
+        try {
+            Resource resource = getConfigResource();
+            if (!resource.isFile()) {
+                return;
+            }
+            configWatcher = new ConfigWatcher(resource.getFile().toPath(), () -> {
+                try {
+                    reloadConfiguration();
+                } catch (RuntimeException e) {
+                    System.err.println("❌ Configuration reload failed, keeping the current one: " + e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Config file watching disabled: " + e.getMessage());
         }
     }
     
@@ -77,109 +179,391 @@ public class ApiWrapperMcpService {
     }
 
     private void initializeWebClient() {
-        webClient = WebClient.builder()
-                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024))
-                .build();
+        upstreamClients = new UpstreamClients(toolRegistry.getServerConfig().getUpstreams(), 1024 * 1024, metrics);
     }
 
-    public Map<String, Object> executeApiCall(ApiToolConfig toolConfig, Map<String, Object> input) {
-        try {
-            String url = toolConfig.getEndpoint();
-            String method = toolConfig.getMethod() != null ? toolConfig.getMethod().toUpperCase() : "GET";
+    @PreDestroy
+    public void shutdown() {
+        if (configWatcher != null) {
+            try {
+                configWatcher.close();
+            } catch (IOException e) {
+                // Nothing left to do
+            }
+        }
+        upstreamClients.dispose();
+    }
 
-            Object response;
-            
-            if ("GET".equals(method)) {
-                // For GET requests, add query parameters
-                if (toolConfig.getQueryParams() != null) {
-                    StringBuilder urlBuilder = new StringBuilder(url);
-                    urlBuilder.append("?");
-                    boolean first = true;
-                    for (Map.Entry<String, String> param : toolConfig.getQueryParams().entrySet()) {
-                        String paramName = param.getKey();
-                        String paramTemplate = param.getValue();
-                        String paramValue = substituteTemplate(paramTemplate, input);
-                        if (!first) {
-                            urlBuilder.append("&");
-                        }
-                        urlBuilder.append(paramName).append("=").append(paramValue);
-                        first = false;
-                    }
-                    url = urlBuilder.toString();
-                }
-                response = webClient.get().uri(url)
-                        .retrieve()
-                        .bodyToMono(Object.class)
-                        .block();
-            } else {
-                // For POST/PUT/PATCH requests, use template
-                String body = toolConfig.getTemplate();
-                if (body != null) {
-                    String requestBody = substituteTemplate(body, input);
-                    response = webClient.method(org.springframework.http.HttpMethod.valueOf(method))
-                            .uri(url)
-                            .bodyValue(requestBody)
-                            .retrieve()
-                            .bodyToMono(Object.class)
-                            .block();
-                } else {
-                    response = webClient.method(org.springframework.http.HttpMethod.valueOf(method))
-                            .uri(url)
-                            .retrieve()
-                            .bodyToMono(Object.class)
-                            .block();
-                }
+    public Map<String, Object> executeApiCall(ToolExecutionPlan plan, Map<String, Object> input) {
+        return executeApiCallAsync(plan, input).block();
+    }
+
+    public Mono<Map<String, Object>> executeApiCallAsync(ToolExecutionPlan plan, Map<String, Object> input) {
+        return executeApiCallAsync(plan, () -> plan.bindArguments(input));
+    }
+
+    /**
+     * Runs a call whose arguments were already bound with {@link ToolExecutionPlan#bindArguments}.
+     */
+    public Mono<Map<String, Object>> executeApiCallAsync(ToolExecutionPlan plan, Object[] arguments) {
+        return executeApiCallAsync(plan, () -> arguments);
+    }
+
+    private Mono<Map<String, Object>> executeApiCallAsync(ToolExecutionPlan plan, Supplier<Object[]> arguments) {
+        return metrics.timeToolCall(plan.getName(), Mono.defer(() -> {
+            UpstreamRequest request = renderRequest(plan, arguments.get());
+            if (plan.isStreaming()) {
+                return loadStreamed(plan, request);
             }
+            ResponseCache cache = plan.getResponseCache();
+            return (cache != null ? fetchCached(plan, cache, request) : load(plan, request))
+                    .map(this::createSuccessResult)
+                    // An empty upstream body is still a successful call
+                    .switchIfEmpty(Mono.fromSupplier(() -> createSuccessResult(null)));
+        }))
+        .onErrorResume(e -> Mono.just(createErrorResult(plan, e)));
+    }
 
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", true);
-            result.put("data", response);
-            return result;
+    /**
+     * Streams the result envelope for a tool call, forwarding the upstream body chunk by chunk
+     * as the {@code data} string (up to the tool's response {@code max_bytes}) without buffering
+     * or parsing it.
+     */
+    public Flux<DataBuffer> streamApiCall(ToolExecutionPlan plan, Map<String, Object> input) {
+        return metrics.timeToolCall(plan.getName(), Flux.defer(() -> {
+            StreamingBody body = new StreamingBody(plan.getMaxResponseBytes());
+            Flux<byte[]> chunks = Mono.fromCallable(() -> renderRequest(plan, plan.bindArguments(input)))
+                    .flatMapMany(request -> streamBody(plan, request))
+                    .map(body::escape)
+                    .takeUntil(ignored -> body.isTruncated());
 
-        } catch (WebClientResponseException e) {
-            Map<String, Object> errorResult = new HashMap<>();
-            errorResult.put("success", false);
-            errorResult.put("error", "API call failed: " + e.getMessage());
-            errorResult.put("status", e.getStatusCode().value());
-            return errorResult;
-        } catch (Exception e) {
-            Map<String, Object> errorResult = new HashMap<>();
-            errorResult.put("success", false);
-            errorResult.put("error", "Unexpected error: " + e.getMessage());
-            return errorResult;
+            // Upstream status errors arrive before any data, so they still get a normal error result
+            return chunks.switchOnFirst((first, rest) -> first.hasError()
+                    ? Mono.fromCallable(() -> objectMapper.writeValueAsBytes(createErrorResult(plan, first.getThrowable())))
+                    : Flux.concat(
+                            Mono.just(StreamingBody.PREFIX),
+                            rest.onErrorResume(e -> Mono.fromCallable(() ->
+                                    body.errorSuffix(objectMapper.writeValueAsString(createErrorResult(plan, e).get("error"))))),
+                            // Empty when the error suffix already closed the envelope
+                            Mono.fromSupplier(() -> body.isFailed() ? null : body.suffix())))
+                    .doFinally(signal -> metrics.recordResponseBytes(plan.getName(), body.getBytes()));
+        }))
+        .map(DefaultDataBufferFactory.sharedInstance::wrap);
+    }
+
+    private UpstreamRequest renderRequest(ToolExecutionPlan plan, Object[] arguments) {
+        URI uri = plan.getUri().render(arguments);
+        // Body templates are only compiled for methods that send a body
+        String body = plan.getBodyTemplate() != null ? plan.getBodyTemplate().render(arguments) : null;
+        return new UpstreamRequest(plan.getMethod(), uri, body);
+    }
+
+    private Mono<Object> fetchCached(ToolExecutionPlan plan, ResponseCache cache, UpstreamRequest request) {
+        ResponseCache.Entry entry = cache.get(request.cacheKey());
+        if (entry != null) {
+            if (entry.isStale() && entry.startRevalidation()) {
+                // Serve the stale value now and refresh it in the background
+                load(plan, request).subscribe(null, e -> entry.revalidationFailed());
+            }
+            return Mono.just(entry.getValue());
         }
+        return load(plan, request);
     }
 
-    private String substituteTemplate(String template, Map<String, Object> input) {
-        String result = template;
-        
-        // Substitute input parameters
-        for (Map.Entry<String, Object> entry : input.entrySet()) {
-            String placeholder = "{{" + entry.getKey() + "}}";
-            result = result.replace(placeholder, String.valueOf(entry.getValue()));
-        }
-        
-        // Substitute environment variables
-        while (result.contains("{{env:")) {
-            int start = result.indexOf("{{env:");
-            int end = result.indexOf("}}", start);
-            if (start != -1 && end != -1) {
-                String envVar = result.substring(start + 6, end);
-                String envValue = System.getenv(envVar);
-                if (envValue != null) {
-                    result = result.substring(0, start) + envValue + result.substring(end + 2);
-                } else {
-                    result = result.substring(0, start) + "" + result.substring(end + 2);
-                }
-            } else {
-                break;
+    private Mono<Object> load(ToolExecutionPlan plan, UpstreamRequest request) {
+        Supplier<Mono<Object>> call = () -> fetchBody(plan, request).handle((body, sink) -> {
+            ResponseProjection projection = plan.getProjection();
+            byte[] bytes = projection != null ? project(projection, body) : body;
+            // Projected bodies are already trimmed JSON and are passed through without decoding
+            Object data = projection != null
+                    ? (bytes.length > 0 ? new RawValue(new String(bytes, StandardCharsets.UTF_8)) : null)
+                    : decodeBody(bytes);
+            if (data == null) {
+                return;
+            }
+            if (plan.getResponseCache() != null) {
+                plan.getResponseCache().put(request.cacheKey(), data, bytes.length);
             }
+            sink.next(data);
+        });
+
+        // Identical concurrent calls share a single upstream request when coalescing is on
+        SingleFlight<Object> singleFlight = plan.getSingleFlight();
+        return singleFlight != null ? singleFlight.execute(request.cacheKey(), call) : call.get();
+    }
+
+    private Mono<byte[]> fetchBody(ToolExecutionPlan plan, UpstreamRequest request) {
+        return Mono.defer(() -> {
+            Duration timeout = totalTimeout(plan);
+            // Lets the circuit breaker tell a call cut off by the deadline from a losing hedged attempt
+            long deadline = System.nanoTime() + timeout.toNanos();
+            return fetchBody(plan, request, deadline).timeout(timeout);
+        });
+    }
+
+    private Mono<byte[]> fetchBody(ToolExecutionPlan plan, UpstreamRequest request, long deadline) {
+        Mono<byte[]> attempt = attempt(plan, request, deadline);
+
+        Duration hedgeDelay = plan.getHedgeDelay();
+        Mono<byte[]> call = hedgeDelay != null ? hedged(attempt, hedgeDelay) : attempt;
+
+        if (plan.getRetry() != null) {
+            call = call.retryWhen(plan.getRetry());
+        }
+        return call;
+    }
+
+    /**
+     * Starts a second attempt if the first one is still running after the delay. The first
+     * successful response wins; the call only fails once both attempts have failed, with the
+     * error of the last one. A first attempt that fails before the delay is not hedged.
+     */
+    static <T> Mono<T> hedged(Mono<T> attempt, Duration delay) {
+        return Mono.defer(() -> {
+            Sinks.Empty<Void> firstFailed = Sinks.empty();
+            Mono<T> first = attempt.doOnError(e -> firstFailed.tryEmitEmpty());
+            Mono<T> second = Mono.firstWithSignal(Mono.delay(delay).thenReturn(true), firstFailed.asMono().thenReturn(false))
+                    .flatMap(start -> start ? attempt : Mono.empty());
+            return Mono.firstWithValue(first, second).onErrorMap(ApiWrapperMcpService::lastAttemptError);
+        });
+    }
+
+    // firstWithValue reports its sources' errors in a composite; retries and error results need the real one
+    private static Throwable lastAttemptError(Throwable error) {
+        if (!(error instanceof NoSuchElementException) || error.getCause() == null) {
+            return error;
         }
-        
+        Throwable last = error;
+        for (Throwable attemptError : Exceptions.unwrapMultiple(error.getCause())) {
+            // Skips the hedge that was never started
+            if (!(attemptError instanceof NoSuchElementException)) {
+                last = attemptError;
+            }
+        }
+        return last;
+    }
+
+    private Mono<byte[]> attempt(ToolExecutionPlan plan, UpstreamRequest request, long deadline) {
+        return guard(plan, deadline, Mono.defer(() -> {
+            Mono<byte[]> body = upstreamClients.timed(requestSpec(plan, request).retrieve().bodyToMono(byte[].class))
+                    .doOnNext(bytes -> metrics.recordResponseBytes(plan.getName(), bytes.length));
+
+            LatencyTracker latencyTracker = plan.getLatencyTracker();
+            if (latencyTracker == null) {
+                return body;
+            }
+            long start = System.nanoTime();
+            return body.doOnSuccess(ignored -> latencyTracker.record(System.nanoTime() - start));
+        }));
+    }
+
+    /**
+     * Holds the request back until the tool's and the host's limits admit it, and passes
+     * it through the host's circuit breaker. Every attempt, including retries and hedged
+     * requests, counts against the limits and the breaker. An open circuit fails the
+     * request before it waits for a limit.
+     */
+    private <T> Mono<T> guard(ToolExecutionPlan plan, long deadline, Mono<T> request) {
+        CircuitBreaker circuitBreaker = upstreamClients.circuitBreakerFor(plan.getHost());
+        if (circuitBreaker == null) {
+            return limit(plan, request);
+        }
+        return Mono.defer(() -> {
+            CircuitOpenException open = circuitBreaker.checkOpen();
+            return open != null ? Mono.error(open) : limit(plan, circuitBreaker.execute(request, deadline));
+        });
+    }
+
+    private <T> Flux<T> guard(ToolExecutionPlan plan, long deadline, Flux<T> request) {
+        CircuitBreaker circuitBreaker = upstreamClients.circuitBreakerFor(plan.getHost());
+        if (circuitBreaker == null) {
+            return limit(plan, request);
+        }
+        return Flux.defer(() -> {
+            CircuitOpenException open = circuitBreaker.checkOpen();
+            return open != null ? Flux.error(open) : limit(plan, circuitBreaker.execute(request, deadline));
+        });
+    }
+
+    private <T> Mono<T> limit(ToolExecutionPlan plan, Mono<T> request) {
+        Throttle hostThrottle = upstreamClients.throttleFor(plan.getHost());
+        if (hostThrottle != null) {
+            request = hostThrottle.execute(request);
+        }
+        return plan.getThrottle() != null ? plan.getThrottle().execute(request) : request;
+    }
+
+    private <T> Flux<T> limit(ToolExecutionPlan plan, Flux<T> request) {
+        Throttle hostThrottle = upstreamClients.throttleFor(plan.getHost());
+        if (hostThrottle != null) {
+            request = hostThrottle.execute(request);
+        }
+        return plan.getThrottle() != null ? plan.getThrottle().execute(request) : request;
+    }
+
+    private Mono<Map<String, Object>> loadStreamed(ToolExecutionPlan plan, UpstreamRequest request) {
+        StreamingBody body = new StreamingBody(plan.getMaxResponseBytes());
+        return streamBody(plan, request)
+                .map(body::escape)
+                .takeUntil(ignored -> body.isTruncated())
+                .collect(ByteArrayOutputStream::new, (out, chunk) -> out.writeBytes(chunk))
+                .map(out -> {
+                    // The escaped bytes are already a valid JSON string body; Jackson writes them as-is
+                    Map<String, Object> result = createSuccessResult(
+                            new RawValue("\"" + out.toString(StandardCharsets.UTF_8) + "\""));
+                    result.put("truncated", body.isTruncated());
+                    result.put("bytes", body.getBytes());
+                    metrics.recordResponseBytes(plan.getName(), body.getBytes());
+                    return result;
+                });
+    }
+
+    private Flux<DataBuffer> streamBody(ToolExecutionPlan plan, UpstreamRequest request) {
+        return Flux.defer(() -> {
+            Duration timeout = totalTimeout(plan);
+            // The breaker only judges the first chunk, which must arrive within the deadline
+            long deadline = System.nanoTime() + timeout.toNanos();
+            return guard(plan, deadline, upstreamClients.timed(Flux.defer(() -> requestSpec(plan, request).retrieve().bodyToFlux(DataBuffer.class))))
+                    // For streams the deadline bounds the wait for each chunk, not the whole transfer
+                    .timeout(timeout);
+        });
+    }
+
+    private WebClient.RequestHeadersSpec<?> requestSpec(ToolExecutionPlan plan, UpstreamRequest request) {
+        WebClient.RequestBodySpec spec = upstreamClients.clientFor(plan).method(request.method())
+                // Already encoded, so WebClient must not parse and encode it again
+                .uri(request.uri())
+                .attribute(GatewayMetrics.TOOL_ATTRIBUTE, plan.getName());
+        metrics.recordRequestBytes(plan.getName(), request.body());
+        Duration readTimeout = plan.getReadTimeout();
+        if (readTimeout != null) {
+            spec.httpRequest(httpRequest -> {
+                HttpClientRequest nativeRequest = httpRequest.getNativeRequest();
+                nativeRequest.responseTimeout(readTimeout);
+            });
+        }
+        return request.body() != null ? spec.bodyValue(request.body()) : spec;
+    }
+
+    private Duration totalTimeout(ToolExecutionPlan plan) {
+        return plan.getTimeout() != null ? plan.getTimeout() : Duration.ofSeconds(defaultTimeoutSeconds);
+    }
+
+    private Object decodeBody(byte[] body) {
+        try {
+            return objectMapper.readValue(body, Object.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] project(ResponseProjection projection, byte[] body) {
+        try {
+            return projection.apply(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, Object> createSuccessResult(Object response) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", true);
+        result.put("data", response);
         return result;
     }
 
+    private Map<String, Object> createErrorResult(ToolExecutionPlan plan, Throwable e) {
+        if (e instanceof WebClientResponseException responseError) {
+            Map<String, Object> errorResult = createErrorResult("API call failed: " + responseError.getMessage());
+            errorResult.put("status", responseError.getStatusCode().value());
+            return errorResult;
+        }
+        if (e instanceof CircuitOpenException circuitOpen) {
+            Map<String, Object> errorResult = createErrorResult(e.getMessage());
+            errorResult.put("circuit_open", true);
+            errorResult.put("retry_after_ms", circuitOpen.getRetryAfterMs());
+            return errorResult;
+        }
+        if (e instanceof InvalidArgumentsException invalid) {
+            Map<String, Object> errorResult = createErrorResult(e.getMessage());
+            errorResult.put("errors", invalid.getErrors());
+            return errorResult;
+        }
+        if (e instanceof ThrottledException) {
+            Map<String, Object> errorResult = createErrorResult(e.getMessage());
+            errorResult.put("throttled", true);
+            return errorResult;
+        }
+        if (e instanceof TimeoutException) {
+            return createErrorResult("API call timed out after " + totalTimeout(plan).toMillis() + " ms");
+        }
+        if (e instanceof WebClientRequestException requestError) {
+            if (requestError.getCause() instanceof ReadTimeoutException) {
+                return createErrorResult("API call timed out: no response within " + plan.getReadTimeout().toMillis() + " ms");
+            }
+            return createErrorResult("Upstream unreachable: " + requestError.getMessage());
+        }
+        return createErrorResult("Unexpected error: " + e.getMessage());
+    }
+
+    private Map<String, Object> createErrorResult(String error) {
+        Map<String, Object> errorResult = new HashMap<>();
+        errorResult.put("success", false);
+        errorResult.put("error", error);
+        return errorResult;
+    }
+
     public ServerConfig getServerConfig() {
-        return serverConfig;
+        ToolRegistry registry = toolRegistry;
+        return registry != null ? registry.getServerConfig() : null;
+    }
+
+    public ToolRegistry getToolRegistry() {
+        return toolRegistry;
+    }
+
+    /**
+     * Hosts whose circuit breaker is currently failing calls fast.
+     */
+    public List<String> getOpenCircuits() {
+        UpstreamClients clients = upstreamClients;
+        return clients != null ? clients.getOpenCircuits() : List.of();
+    }
+
+    public Optional<ToolExecutionPlan> findTool(String toolName) {
+        ToolRegistry registry = toolRegistry;
+        return registry != null ? registry.find(toolName) : Optional.empty();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> cacheStats = new LinkedHashMap<>();
+        Map<String, Object> coalescingStats = new LinkedHashMap<>();
+        Map<String, Object> toolLimitStats = new LinkedHashMap<>();
+        ToolRegistry registry = toolRegistry;
+        if (registry != null) {
+            for (ToolExecutionPlan plan : registry.getPlans()) {
+                if (plan.getResponseCache() != null) {
+                    cacheStats.put(plan.getName(), plan.getResponseCache().getStats());
+                }
+                if (plan.getSingleFlight() != null) {
+                    coalescingStats.put(plan.getName(), plan.getSingleFlight().getStats());
+                }
+                if (plan.getThrottle() != null) {
+                    toolLimitStats.put(plan.getName(), plan.getThrottle().getStats());
+                }
+            }
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cache", cacheStats);
+        stats.put("coalescing", coalescingStats);
+        UpstreamClients clients = upstreamClients;
+        Map<String, Object> limitStats = new LinkedHashMap<>();
+        limitStats.put("tools", toolLimitStats);
+        limitStats.put("upstreams", clients.getThrottleStats());
+        stats.put("limits", limitStats);
+        stats.put("circuit_breakers", clients.getCircuitBreakerStats());
+        stats.put("upstreams", clients.getStats());
+        return stats;
     }
 }
@@ -0,0 +1,43 @@
+package com.github.mcpgateway.service;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns every argument name a tool uses (declared parameters first, then names that
+ * only appear in its templates) an index into the per-call argument array.
+ */
+final class ArgumentSlots {
+
+    private final Map<String, Integer> slots = new LinkedHashMap<>();
+    // Slots whose argument must be present in every call, declared as required or not
+    private final BitSet required = new BitSet();
+
+    ArgumentSlots(Collection<String> declared) {
+        declared.forEach(this::slotOf);
+    }
+
+    int slotOf(String name) {
+        return slots.computeIfAbsent(name, ignored -> slots.size());
+    }
+
+    void require(int slot) {
+        required.set(slot);
+    }
+
+    boolean isRequired(int slot) {
+        return required.get(slot);
+    }
+
+    List<String> names() {
+        return List.copyOf(slots.keySet());
+    }
+
+    List<String> requiredNames() {
+        List<String> names = names();
+        return required.stream().mapToObj(names::get).toList();
+    }
+}
@@ -0,0 +1,288 @@
+package com.github.mcpgateway.service;
+
+import com.github.mcpgateway.model.ServerConfig;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Circuit breaker for one upstream host. While closed it records the outcome of the last
+ * {@code window_size} requests and opens once the failure or slow-call rate crosses its
+ * threshold. While open, requests fail right away with a {@link CircuitOpenException}.
+ * After {@code open_duration_ms} a few probe requests are let through (half-open): it
+ * closes again if they all succeed and reopens on the first failed or slow one.
+ *
+ * <p>Connection errors, timeouts and 5xx responses are failures. Other HTTP statuses
+ * show the host is up and count as successes.
+ */
+final class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+    // Retry hint for calls turned away while the probes are still running
+    private static final long HALF_OPEN_RETRY_AFTER_MS = 1000;
+
+    private final String host;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    // Guarded by this
+    private State state = State.CLOSED;
+    // Bumped on every transition so outcomes of calls started in an earlier state are dropped
+    private long generation;
+    private final byte[] window;
+    private int next;
+    private int calls;
+    private int failures;
+    private int slowCalls;
+    private long openedAt;
+    private int probesInFlight;
+    private int probesSucceeded;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timesOpened = new LongAdder();
+
+    CircuitBreaker(String host, ServerConfig.CircuitBreakerConfig config) {
+        this.host = host;
+        this.failureRateThreshold = config.getFailureRateThreshold() != null ? config.getFailureRateThreshold() : 50.0;
+        this.slowCallRateThreshold = config.getSlowCallRateThreshold() != null ? config.getSlowCallRateThreshold() : 100.0;
+        this.slowCallNanos = config.getSlowCallDurationMs() != null
+                ? TimeUnit.MILLISECONDS.toNanos(config.getSlowCallDurationMs())
+                : Long.MAX_VALUE;
+        int windowSize = config.getWindowSize() != null ? Math.max(1, config.getWindowSize()) : 20;
+        this.window = new byte[windowSize];
+        this.minimumCalls = config.getMinimumCalls() != null
+                ? Math.max(1, Math.min(windowSize, config.getMinimumCalls()))
+                : Math.min(windowSize, 10);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(config.getOpenDurationMs() != null ? config.getOpenDurationMs() : 30_000);
+        this.halfOpenCalls = config.getHalfOpenCalls() != null ? Math.max(1, config.getHalfOpenCalls()) : 3;
+    }
+
+    /**
+     * Returns the error a request would get right now without taking a permit, or
+     * {@code null} if the circuit lets requests through. Used to fail fast before a
+     * request starts waiting for anything else.
+     */
+    synchronized CircuitOpenException checkOpen() {
+        if (state == State.OPEN && System.nanoTime() - openedAt < openNanos) {
+            rejected.increment();
+            return openError();
+        }
+        return null;
+    }
+
+    /**
+     * Runs a request through the breaker. The request may be cut off from the outside by
+     * the tool's deadline ({@link System#nanoTime()} value, {@link Long#MAX_VALUE} for none):
+     * a cancel at or after the deadline is a timeout and counts as a failure, while an
+     * earlier cancel (a losing hedged attempt) says nothing about the host.
+     */
+    <T> Mono<T> execute(Mono<T> request, long deadline) {
+        return Mono.defer(() -> {
+            Call call = tryAcquire(deadline);
+            if (call == null) {
+                return Mono.error(rejectedError());
+            }
+            return request
+                    .doOnSuccess(value -> call.succeeded())
+                    .doOnError(call::failed)
+                    .doOnCancel(call::cancelled);
+        });
+    }
+
+    /**
+     * Streams are judged by their first signal: once data arrives the host is up.
+     */
+    <T> Flux<T> execute(Flux<T> request, long deadline) {
+        return Flux.defer(() -> {
+            Call call = tryAcquire(deadline);
+            if (call == null) {
+                return Flux.error(rejectedError());
+            }
+            return request
+                    .doOnNext(value -> call.succeeded())
+                    .doOnComplete(call::succeeded)
+                    .doOnError(call::failed)
+                    .doOnCancel(call::cancelled);
+        });
+    }
+
+    private synchronized Call tryAcquire(long deadline) {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return null;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight + probesSucceeded >= halfOpenCalls) {
+                return null;
+            }
+            probesInFlight++;
+            return new Call(generation, true, deadline);
+        }
+        return new Call(generation, false, deadline);
+    }
+
+    private synchronized CircuitOpenException rejectedError() {
+        rejected.increment();
+        return openError();
+    }
+
+    private CircuitOpenException openError() {
+        long retryAfterMs = state == State.OPEN
+                ? Math.max(0, TimeUnit.NANOSECONDS.toMillis(openNanos - (System.nanoTime() - openedAt)))
+                : HALF_OPEN_RETRY_AFTER_MS;
+        return new CircuitOpenException(host, retryAfterMs);
+    }
+
+    private synchronized void record(Call call, byte outcome) {
+        if (call.generation != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            probesInFlight--;
+            if (outcome != 0) {
+                transition(State.OPEN);
+            } else if (++probesSucceeded >= halfOpenCalls) {
+                transition(State.CLOSED);
+            }
+            return;
+        }
+
+        if (calls == window.length) {
+            byte evicted = window[next];
+            failures -= evicted & FAILED;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            calls++;
+        }
+        window[next] = outcome;
+        next = (next + 1) % window.length;
+        failures += outcome & FAILED;
+        slowCalls += (outcome & SLOW) >> 1;
+
+        if (calls >= minimumCalls
+                && (failures * 100.0 / calls >= failureRateThreshold || slowCalls * 100.0 / calls >= slowCallRateThreshold)) {
+            transition(State.OPEN);
+        }
+    }
+
+    // An outcome that says nothing about the host, e.g. a request rejected by a rate limit
+    private synchronized void ignore(Call call) {
+        if (call.probe && call.generation == generation) {
+            probesInFlight--;
+        }
+    }
+
+    private void transition(State target) {
+        state = target;
+        generation++;
+        probesInFlight = 0;
+        probesSucceeded = 0;
+        if (target == State.OPEN) {
+            openedAt = System.nanoTime();
+            timesOpened.increment();
+        } else if (target == State.CLOSED) {
+            next = 0;
+            calls = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+    }
+
+    private static boolean isFailure(Throwable error) {
+        if (error instanceof WebClientResponseException responseError) {
+            return responseError.getStatusCode().is5xxServerError();
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+
+    synchronized boolean isOpen() {
+        return state == State.OPEN && System.nanoTime() - openedAt < openNanos;
+    }
+
+    synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            // Moves to half-open with the next request
+            stats.put("state", State.HALF_OPEN.name().toLowerCase());
+        } else {
+            stats.put("state", state.name().toLowerCase());
+        }
+        stats.put("calls", calls);
+        stats.put("failure_rate", calls > 0 ? Math.round(failures * 1000.0 / calls) / 10.0 : 0.0);
+        stats.put("slow_call_rate", calls > 0 ? Math.round(slowCalls * 1000.0 / calls) / 10.0 : 0.0);
+        stats.put("times_opened", timesOpened.sum());
+        stats.put("rejected", rejected.sum());
+        if (state == State.OPEN) {
+            stats.put("retry_after_ms", openError().getRetryAfterMs());
+        }
+        return stats;
+    }
+
+    private final class Call {
+        private final long generation;
+        private final boolean probe;
+        private final long deadline;
+        private final long start = System.nanoTime();
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Call(long generation, boolean probe, long deadline) {
+            this.generation = generation;
+            this.probe = probe;
+            this.deadline = deadline;
+        }
+
+        private void succeeded() {
+            if (done.compareAndSet(false, true)) {
+                record(this, isSlow() ? SLOW : 0);
+            }
+        }
+
+        private void failed(Throwable error) {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            if (isFailure(error)) {
+                record(this, FAILED);
+            } else if (error instanceof WebClientResponseException) {
+                record(this, isSlow() ? SLOW : 0);
+            } else {
+                ignore(this);
+            }
+        }
+
+        // Losing hedged attempts and calls cut off by the tool's deadline end up here
+        private void cancelled() {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            if (deadline != Long.MAX_VALUE && System.nanoTime() - deadline >= 0) {
+                record(this, FAILED);
+            } else if (isSlow()) {
+                record(this, SLOW);
+            } else {
+                ignore(this);
+            }
+        }
+
+        private boolean isSlow() {
+            return System.nanoTime() - start >= slowCallNanos;
+        }
+    }
+}
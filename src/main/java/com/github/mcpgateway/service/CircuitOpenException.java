@@ -0,0 +1,18 @@
+package com.github.mcpgateway.service;
+
+/**
+ * A call was failed fast because the circuit breaker of its upstream host is open.
+ */
+final class CircuitOpenException extends RuntimeException {
+
+    private final long retryAfterMs;
+
+    CircuitOpenException(String host, long retryAfterMs) {
+        super("Circuit open for upstream " + host + ": failing fast, retry after " + retryAfterMs + " ms", null, false, false);
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    long getRetryAfterMs() {
+        return retryAfterMs;
+    }
+}
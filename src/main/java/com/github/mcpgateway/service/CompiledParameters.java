@@ -0,0 +1,363 @@
+package com.github.mcpgateway.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.mcpgateway.model.ParameterConfig;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A tool's arguments compiled once into a validator and coercer.
+ * <p>
+ * Binding converts a call's arguments into an array indexed by {@link ArgumentSlots slot},
+ * converting each value once. It applies defaults, rejects missing required parameters and
+ * converts every declared value to its type: JSON values and lossless text forms are
+ * accepted ({@code "42"} for an integer, {@code "true"} for a boolean, a number for a
+ * string), anything else is an error. All problems of a call are collected and reported
+ * together, so a bad call never reaches the upstream. Names that are used by the tool's
+ * templates without being declared are bound as they are, with JSON scalars unwrapped.
+ * Absent arguments are {@code null}.
+ */
+public final class CompiledParameters {
+
+    // Returned by a coercion that does not accept the value
+    private static final Object INVALID = new Object();
+    // Integers with more digits than a long are rejected before they are expanded
+    private static final int MAX_INTEGER_DIGITS = 19;
+    // Numbers outside the range of a double are rejected before they are expanded
+    private static final int MAX_NUMBER_EXPONENT = 308;
+
+    private final String toolName;
+    private final Parameter[] parameters;
+
+    private CompiledParameters(String toolName, Parameter[] parameters) {
+        this.toolName = toolName;
+        this.parameters = parameters;
+    }
+
+    /**
+     * @param slots every argument name the tool uses; arguments the slots require (path
+     *              variables) must be declared and are required whether they are declared
+     *              as required or not
+     * @throws IllegalStateException if a parameter has an unknown type or a default that does not match it,
+     *                               or a path variable is not declared
+     */
+    static CompiledParameters compile(String toolName, Map<String, ParameterConfig> configs, ArgumentSlots slots) {
+        List<String> names = slots.names();
+        Parameter[] parameters = new Parameter[names.size()];
+        for (int slot = 0; slot < parameters.length; slot++) {
+            String name = names.get(slot);
+            ParameterConfig config = configs != null ? configs.get(name) : null;
+            if (config == null) {
+                if (slots.isRequired(slot)) {
+                    // Clients only learn about the parameters the tool declares
+                    throw new IllegalStateException("Path variable '" + name + "' of tool " + toolName
+                            + " is not declared in its parameters");
+                }
+                parameters[slot] = new Parameter(name, Type.ANY, false, null);
+                continue;
+            }
+
+            Type type = Type.of(config.getType());
+            if (type == null) {
+                throw new IllegalStateException("Unknown type '" + config.getType() + "' for parameter '" + name
+                        + "' of tool " + toolName + " (expected string, integer, number, boolean, array or object)");
+            }
+
+            Object defaultValue = null;
+            if (config.getDefaultValue() != null) {
+                defaultValue = type.coerce(config.getDefaultValue());
+                if (defaultValue == INVALID) {
+                    throw new IllegalStateException("Default value of parameter '" + name + "' of tool " + toolName
+                            + " is not of type " + type.label);
+                }
+            }
+            parameters[slot] = new Parameter(name, type, config.isRequired() || slots.isRequired(slot), defaultValue);
+        }
+        return new CompiledParameters(toolName, parameters);
+    }
+
+    /**
+     * Binds arguments given as a map, as received by the REST endpoints.
+     *
+     * @throws InvalidArgumentsException listing every missing or mistyped parameter
+     */
+    public Object[] bind(Map<String, Object> input) {
+        return bind(input != null ? input::get : name -> null);
+    }
+
+    /**
+     * Binds the {@code arguments} object of an MCP {@code tools/call} request.
+     *
+     * @throws InvalidArgumentsException listing every missing or mistyped parameter
+     */
+    public Object[] bind(JsonNode arguments) {
+        return bind(arguments != null && arguments.isObject() ? arguments::get : name -> null);
+    }
+
+    private Object[] bind(Function<String, Object> input) {
+        Object[] bound = new Object[parameters.length];
+        List<Map<String, Object>> errors = null;
+
+        for (int slot = 0; slot < parameters.length; slot++) {
+            Parameter parameter = parameters[slot];
+            Object raw = input.apply(parameter.name());
+            if (isNull(raw)) {
+                // An explicit null is treated like a missing value
+                if (parameter.defaultValue() != null) {
+                    bound[slot] = parameter.defaultValue();
+                } else if (parameter.required()) {
+                    errors = addError(errors, parameter, "missing",
+                            "Missing required parameter '" + parameter.name() + "'", null);
+                }
+                continue;
+            }
+
+            Object value = parameter.type().coerce(raw);
+            if (value == INVALID) {
+                String received = typeName(raw);
+                errors = addError(errors, parameter, "invalid_type",
+                        "Parameter '" + parameter.name() + "' must be of type " + parameter.type().label + ", got " + received,
+                        received);
+            } else {
+                bound[slot] = value;
+            }
+        }
+
+        if (errors != null) {
+            throw new InvalidArgumentsException(toolName, errors);
+        }
+        return bound;
+    }
+
+    private static List<Map<String, Object>> addError(List<Map<String, Object>> errors, Parameter parameter,
+                                                      String code, String message, String received) {
+        if (errors == null) {
+            errors = new ArrayList<>();
+        }
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("parameter", parameter.name());
+        error.put("code", code);
+        error.put("message", message);
+        if (parameter.type() != Type.ANY) {
+            error.put("expected", parameter.type().label);
+        }
+        if (received != null) {
+            error.put("received", received);
+        }
+        errors.add(error);
+        return errors;
+    }
+
+    private static boolean isNull(Object value) {
+        return value == null || value instanceof JsonNode node && (node.isNull() || node.isMissingNode());
+    }
+
+    private static String typeName(Object value) {
+        if (value instanceof JsonNode node) {
+            return node.getNodeType().name().toLowerCase();
+        }
+        if (value instanceof CharSequence) {
+            return "string";
+        }
+        if (value instanceof Number) {
+            return "number";
+        }
+        if (value instanceof Boolean) {
+            return "boolean";
+        }
+        if (value instanceof List || value instanceof Object[]) {
+            return "array";
+        }
+        if (value instanceof Map) {
+            return "object";
+        }
+        return value.getClass().getSimpleName();
+    }
+
+    private record Parameter(String name, Type type, boolean required, Object defaultValue) {
+    }
+
+    private enum Type {
+        STRING("string") {
+            @Override
+            Object coerce(Object value) {
+                if (value instanceof JsonNode node) {
+                    return node.isValueNode() ? node.asText() : INVALID;
+                }
+                return value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                        ? value.toString()
+                        : INVALID;
+            }
+        },
+        INTEGER("integer") {
+            @Override
+            Object coerce(Object value) {
+                if (value instanceof JsonNode node) {
+                    if (node.isTextual()) {
+                        return integer(node.textValue());
+                    }
+                    if (!node.isNumber() || !isFinite(node)) {
+                        return INVALID;
+                    }
+                    return integer(node.decimalValue());
+                }
+                if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                    return ((Number) value).longValue();
+                }
+                if (value instanceof BigInteger || value instanceof BigDecimal) {
+                    return integer(new BigDecimal(value.toString()));
+                }
+                if (value instanceof Double || value instanceof Float) {
+                    double number = ((Number) value).doubleValue();
+                    return Double.isFinite(number) ? integer(BigDecimal.valueOf(number)) : INVALID;
+                }
+                return value instanceof CharSequence text ? integer(text.toString()) : INVALID;
+            }
+        },
+        NUMBER("number") {
+            @Override
+            Object coerce(Object value) {
+                if (value instanceof JsonNode node) {
+                    if (node.isTextual()) {
+                        return number(node.textValue());
+                    }
+                    return node.isNumber() && isFinite(node) ? node.numberValue() : INVALID;
+                }
+                if (value instanceof Double number) {
+                    return Double.isFinite(number) ? number : INVALID;
+                }
+                if (value instanceof Float number) {
+                    return Float.isFinite(number) ? number : INVALID;
+                }
+                if (value instanceof Number) {
+                    return value;
+                }
+                return value instanceof CharSequence text ? number(text.toString()) : INVALID;
+            }
+        },
+        BOOLEAN("boolean") {
+            @Override
+            Object coerce(Object value) {
+                if (value instanceof JsonNode node) {
+                    if (node.isBoolean()) {
+                        return node.booleanValue();
+                    }
+                    return node.isTextual() ? bool(node.textValue()) : INVALID;
+                }
+                if (value instanceof Boolean) {
+                    return value;
+                }
+                return value instanceof CharSequence text ? bool(text.toString()) : INVALID;
+            }
+        },
+        ARRAY("array") {
+            @Override
+            Object coerce(Object value) {
+                if (value instanceof JsonNode node) {
+                    return node.isArray() ? node : INVALID;
+                }
+                return value instanceof List || value instanceof Object[] ? value : INVALID;
+            }
+        },
+        OBJECT("object") {
+            @Override
+            Object coerce(Object value) {
+                if (value instanceof JsonNode node) {
+                    return node.isObject() ? node : INVALID;
+                }
+                return value instanceof Map ? value : INVALID;
+            }
+        },
+        // No declared type: any value, JSON scalars unwrapped
+        ANY("any") {
+            @Override
+            Object coerce(Object value) {
+                if (value instanceof JsonNode node && node.isValueNode()) {
+                    return node.isTextual() ? node.textValue()
+                            : node.isNumber() ? node.numberValue()
+                            : node.isBoolean() ? node.booleanValue()
+                            : node;
+                }
+                return value;
+            }
+        };
+
+        private final String label;
+
+        Type(String label) {
+            this.label = label;
+        }
+
+        abstract Object coerce(Object value);
+
+        static Type of(String name) {
+            if (name == null || name.isBlank()) {
+                return ANY;
+            }
+            for (Type type : values()) {
+                if (type != ANY && type.label.equalsIgnoreCase(name.trim())) {
+                    return type;
+                }
+            }
+            return null;
+        }
+
+        private static Object integer(String text) {
+            try {
+                return integer(new BigDecimal(text.trim()));
+            } catch (NumberFormatException e) {
+                return INVALID;
+            }
+        }
+
+        // JSON numbers too large for a double (1e400) are parsed as infinity
+        private static boolean isFinite(JsonNode node) {
+            return !node.isFloatingPointNumber() || node.isBigDecimal() || Double.isFinite(node.doubleValue());
+        }
+
+        // Integral values only ("3.0" is 3); longs where they fit
+        private static Object integer(BigDecimal number) {
+            if (number.signum() == 0) {
+                return 0L;
+            }
+            // Checked before toBigIntegerExact, which would expand an exponent like 1e50000000 digit by digit
+            int integerDigits = number.precision() - number.scale();
+            if (integerDigits <= 0 || integerDigits > MAX_INTEGER_DIGITS) {
+                return INVALID;
+            }
+            try {
+                BigInteger integer = number.toBigIntegerExact();
+                return integer.bitLength() < 64 ? (Object) integer.longValue() : integer;
+            } catch (ArithmeticException e) {
+                return INVALID;
+            }
+        }
+
+        private static Object number(String text) {
+            try {
+                BigDecimal number = new BigDecimal(text.trim());
+                if (number.signum() != 0 && Math.abs(number.precision() - number.scale()) > MAX_NUMBER_EXPONENT) {
+                    return INVALID;
+                }
+                Object integer = integer(number);
+                return integer != INVALID ? integer : number;
+            } catch (NumberFormatException e) {
+                return INVALID;
+            }
+        }
+
+        private static Object bool(String text) {
+            String trimmed = text.trim();
+            if (trimmed.equalsIgnoreCase("true")) {
+                return Boolean.TRUE;
+            }
+            return trimmed.equalsIgnoreCase("false") ? Boolean.FALSE : INVALID;
+        }
+    }
+}
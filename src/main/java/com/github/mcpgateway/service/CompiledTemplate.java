@@ -0,0 +1,236 @@
+package com.github.mcpgateway.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A "{{...}}" template parsed once into a list of segments.
+ * <p>
+ * Literal text and {@code {{env:NAME}}} references are resolved at compile time
+ * (environment values are read once and folded into the surrounding literal),
+ * so rendering is a single pass that only looks up {@code {{param}}} values by
+ * their slot in the call's bound arguments. Each value is written in the template's
+ * {@link Encoding}.
+ */
+public final class CompiledTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    private static final String ENV_PREFIX = "env:";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * How argument values are written into the rendered text.
+     */
+    public enum Encoding {
+        /**
+         * JSON request bodies. Inside a JSON string a value is written as escaped text;
+         * elsewhere it is written as a JSON value (strings quoted, arrays and objects serialized).
+         */
+        JSON,
+        /**
+         * Request bodies that are not JSON, such as form data or plain text. Values are written
+         * as plain text (strings unquoted, arrays and objects serialized), without escaping.
+         */
+        TEXT,
+        /**
+         * Query parameter values. Values and literal text are percent-encoded.
+         */
+        QUERY,
+        /**
+         * Endpoint URIs. Literal text keeps its reserved characters and escapes; values are
+         * percent-encoded, so a path variable is always a single path segment.
+         */
+        URI
+    }
+
+    private final Encoding encoding;
+    private final Segment[] segments;
+    private final int literalLength;
+    private final int[] slots;
+
+    private CompiledTemplate(Encoding encoding, List<Segment> segments) {
+        this.encoding = encoding;
+        this.segments = segments.toArray(new Segment[0]);
+        int length = 0;
+        List<Integer> referenced = new ArrayList<>();
+        for (Segment segment : this.segments) {
+            if (segment instanceof Literal literal) {
+                length += literal.text().length();
+            } else {
+                referenced.add(((ParameterRef) segment).slot());
+            }
+        }
+        this.literalLength = length;
+        this.slots = referenced.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    static CompiledTemplate compile(String template, Encoding encoding, ArgumentSlots slots) {
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        // Whether the text so far ends inside a JSON string
+        boolean inString = false;
+        int position = 0;
+
+        while (position < template.length()) {
+            int start = template.indexOf(OPEN, position);
+            int end = start != -1 ? template.indexOf(CLOSE, start + OPEN.length()) : -1;
+            if (start == -1 || end == -1) {
+                literal.append(template, position, template.length());
+                break;
+            }
+
+            literal.append(template, position, start);
+            if (encoding == Encoding.JSON) {
+                inString = scanJsonString(template, position, start, inString);
+            }
+            String name = template.substring(start + OPEN.length(), end);
+            if (name.startsWith(ENV_PREFIX)) {
+                // Environment variables are resolved once; missing ones render as empty
+                String envValue = System.getenv(name.substring(ENV_PREFIX.length()));
+                if (envValue != null) {
+                    literal.append(envValue);
+                }
+            } else {
+                if (!literal.isEmpty()) {
+                    segments.add(literal(encoding, literal.toString()));
+                    literal.setLength(0);
+                }
+                String placeholder = template.substring(start, end + CLOSE.length());
+                segments.add(new ParameterRef(slots.slotOf(name), inString,
+                        encoding == Encoding.JSON || encoding == Encoding.TEXT ? placeholder : PercentEncoding.encode(placeholder)));
+            }
+            position = end + CLOSE.length();
+        }
+
+        if (!literal.isEmpty()) {
+            segments.add(literal(encoding, literal.toString()));
+        }
+        return new CompiledTemplate(encoding, segments);
+    }
+
+    private static Literal literal(Encoding encoding, String text) {
+        return new Literal(switch (encoding) {
+            case JSON, TEXT -> text;
+            case QUERY -> PercentEncoding.encode(text);
+            case URI -> PercentEncoding.encodeUri(text);
+        });
+    }
+
+    private static boolean scanJsonString(String template, int from, int to, boolean inString) {
+        for (int i = from; i < to; i++) {
+            char c = template.charAt(i);
+            if (inString && c == '\\') {
+                i++;
+            } else if (c == '"') {
+                inString = !inString;
+            }
+        }
+        return inString;
+    }
+
+    /**
+     * Returns the argument slots of the template's {@code {{param}}} placeholders, in order.
+     */
+    int[] getSlots() {
+        return slots.clone();
+    }
+
+    /**
+     * Whether every placeholder has an argument.
+     */
+    public boolean isBound(Object[] arguments) {
+        for (int slot : slots) {
+            if (arguments[slot] == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String render(Object[] arguments) {
+        if (slots.length == 0) {
+            return segments.length == 0 ? "" : ((Literal) segments[0]).text();
+        }
+
+        StringBuilder result = new StringBuilder(literalLength + slots.length * 16);
+        appendTo(result, arguments);
+        return result.toString();
+    }
+
+    public void appendTo(StringBuilder result, Object[] arguments) {
+        for (Segment segment : segments) {
+            if (segment instanceof Literal literal) {
+                result.append(literal.text());
+                continue;
+            }
+            ParameterRef parameter = (ParameterRef) segment;
+            Object value = arguments[parameter.slot()];
+            if (value == null) {
+                // Absent arguments leave their placeholder untouched, as before
+                result.append(parameter.placeholder());
+            } else if (encoding == Encoding.TEXT) {
+                result.append(text(value));
+            } else if (encoding != Encoding.JSON) {
+                PercentEncoding.append(result, text(value));
+            } else if (parameter.inString()) {
+                JsonStringEncoder.getInstance().quoteAsString(text(value), result);
+            } else {
+                appendJsonValue(result, value);
+            }
+        }
+    }
+
+    // The value as plain text: strings unquoted, arrays and objects as JSON
+    private static String text(Object value) {
+        if (value instanceof String text) {
+            return text;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        if (value instanceof JsonNode node) {
+            return node.isValueNode() ? node.asText() : node.toString();
+        }
+        return toJson(value);
+    }
+
+    private static void appendJsonValue(StringBuilder result, Object value) {
+        if (value instanceof String text) {
+            result.append('"');
+            JsonStringEncoder.getInstance().quoteAsString(text, result);
+            result.append('"');
+        } else if (value instanceof Number || value instanceof Boolean || value instanceof JsonNode) {
+            result.append(value);
+        } else {
+            result.append(toJson(value));
+        }
+    }
+
+    private static String toJson(Object value) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private sealed interface Segment permits Literal, ParameterRef {
+    }
+
+    private record Literal(String text) implements Segment {
+    }
+
+    private record ParameterRef(int slot, boolean inString, String placeholder) implements Segment {
+    }
+}
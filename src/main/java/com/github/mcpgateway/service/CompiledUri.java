@@ -0,0 +1,73 @@
+package com.github.mcpgateway.service;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A tool's endpoint and query parameters compiled once into a URI plan.
+ * <p>
+ * The endpoint may contain path variables ({@code /users/{{username}}}); these are
+ * always required. Static text is percent-encoded at compile time, so a call only
+ * encodes and appends its argument values. A query parameter is left out when one
+ * of the arguments its value refers to is absent.
+ */
+final class CompiledUri {
+
+    private final CompiledTemplate endpoint;
+    private final QueryParam[] queryParams;
+    // Joins the first query parameter to the endpoint, which may already have a query
+    private final char firstSeparator;
+    private final int estimatedLength;
+
+    private CompiledUri(CompiledTemplate endpoint, List<QueryParam> queryParams, char firstSeparator, int estimatedLength) {
+        this.endpoint = endpoint;
+        this.queryParams = queryParams.toArray(new QueryParam[0]);
+        this.firstSeparator = firstSeparator;
+        this.estimatedLength = estimatedLength;
+    }
+
+    static CompiledUri compile(String endpoint, Map<String, String> queryParams, ArgumentSlots slots) {
+        // Fragments are never sent to the server
+        int fragment = endpoint.indexOf('#');
+        String base = fragment >= 0 ? endpoint.substring(0, fragment) : endpoint;
+
+        CompiledTemplate endpointTemplate = CompiledTemplate.compile(base, CompiledTemplate.Encoding.URI, slots);
+        for (int slot : endpointTemplate.getSlots()) {
+            slots.require(slot);
+        }
+
+        List<QueryParam> params = new ArrayList<>();
+        int length = base.length();
+        if (queryParams != null) {
+            for (Map.Entry<String, String> param : queryParams.entrySet()) {
+                String prefix = PercentEncoding.encode(param.getKey()) + "=";
+                String value = param.getValue() != null ? param.getValue() : "";
+                params.add(new QueryParam(prefix, CompiledTemplate.compile(value, CompiledTemplate.Encoding.QUERY, slots)));
+                length += prefix.length() + value.length() + 1;
+            }
+        }
+        return new CompiledUri(endpointTemplate, params, base.indexOf('?') >= 0 ? '&' : '?', length + 32);
+    }
+
+    URI render(Object[] arguments) {
+        StringBuilder uri = new StringBuilder(estimatedLength);
+        endpoint.appendTo(uri, arguments);
+
+        char separator = firstSeparator;
+        for (QueryParam param : queryParams) {
+            if (!param.value().isBound(arguments)) {
+                // Optional parameter without a value
+                continue;
+            }
+            uri.append(separator).append(param.prefix());
+            param.value().appendTo(uri, arguments);
+            separator = '&';
+        }
+        return URI.create(uri.toString());
+    }
+
+    private record QueryParam(String prefix, CompiledTemplate value) {
+    }
+}
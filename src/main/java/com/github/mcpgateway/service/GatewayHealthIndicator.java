@@ -0,0 +1,29 @@
+package com.github.mcpgateway.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * The gateway is up once a configuration is loaded. Hosts whose circuit is open are
+ * listed but do not take the gateway down, since every other tool still works.
+ */
+@Component("gateway")
+public class GatewayHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private ApiWrapperMcpService apiWrapperMcpService;
+
+    @Override
+    public Health health() {
+        ToolRegistry registry = apiWrapperMcpService.getToolRegistry();
+        if (registry == null) {
+            return Health.down().withDetail("error", "Configuration not loaded").build();
+        }
+        return Health.up()
+                .withDetail("tools", registry.size())
+                .withDetail("open_circuits", apiWrapperMcpService.getOpenCircuits())
+                .build();
+    }
+}
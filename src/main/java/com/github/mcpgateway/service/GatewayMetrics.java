@@ -0,0 +1,293 @@
+package com.github.mcpgateway.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Micrometer meters for tool calls, upstream requests and MCP messages. Tool calls are
+ * timed end to end and upstream requests up to the response headers, so the difference
+ * between the two is the time spent in the gateway (queueing for limits, retries,
+ * decoding and projection).
+ *
+ * <p>Exported by Actuator ({@code /actuator/prometheus}) in server mode and written to
+ * stderr as JSON in {@code --mcp} mode.
+ */
+@Component
+public class GatewayMetrics {
+
+    static final String PREFIX = "mcpgateway.";
+    // WebClient request attribute naming the tool an upstream request belongs to
+    static final String TOOL_ATTRIBUTE = GatewayMetrics.class.getName() + ".tool";
+
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p99", "p999"};
+    private static final Set<String> MCP_METHODS = Set.of("initialize", "tools/list", "tools/call", "ping");
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * Times a tool call from subscription to its result, tagged with how it ended.
+     */
+    Mono<Map<String, Object>> timeToolCall(String tool, Mono<Map<String, Object>> call) {
+        return Mono.defer(() -> {
+            AtomicInteger active = gauge("mcpgateway.tool.calls.active", Tags.of("tool", tool));
+            AtomicBoolean done = new AtomicBoolean();
+            long start = System.nanoTime();
+            active.incrementAndGet();
+            return call
+                    .doOnSuccess(result -> finishToolCall(tool, "success", start, active, done))
+                    .doOnError(e -> finishToolCall(tool, outcome(e), start, active, done))
+                    .doOnCancel(() -> finishToolCall(tool, "cancelled", start, active, done));
+        });
+    }
+
+    <T> Flux<T> timeToolCall(String tool, Flux<T> call) {
+        return Flux.defer(() -> {
+            AtomicInteger active = gauge("mcpgateway.tool.calls.active", Tags.of("tool", tool));
+            AtomicBoolean done = new AtomicBoolean();
+            long start = System.nanoTime();
+            active.incrementAndGet();
+            return call
+                    .doOnComplete(() -> finishToolCall(tool, "success", start, active, done))
+                    .doOnError(e -> finishToolCall(tool, outcome(e), start, active, done))
+                    .doOnCancel(() -> finishToolCall(tool, "cancelled", start, active, done));
+        });
+    }
+
+    private void finishToolCall(String tool, String outcome, long start, AtomicInteger active, AtomicBoolean done) {
+        if (done.compareAndSet(false, true)) {
+            active.decrementAndGet();
+            timer("mcpgateway.tool.calls", "Tool calls, end to end", "tool", tool, "outcome", outcome)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * WebClient filter timing each upstream request up to its response headers, tagged
+     * with the host and the HTTP status (or the kind of failure).
+     */
+    ExchangeFilterFunction upstreamFilter(String host) {
+        return (request, next) -> Mono.defer(() -> {
+            String tool = (String) request.attribute(TOOL_ATTRIBUTE).orElse("unknown");
+            AtomicInteger active = gauge("mcpgateway.upstream.requests.active", Tags.of("host", host));
+            AtomicBoolean done = new AtomicBoolean();
+            long start = System.nanoTime();
+            active.incrementAndGet();
+            return next.exchange(request)
+                    .doOnSuccess(response -> finishUpstream(request, tool, host,
+                            response != null ? String.valueOf(response.statusCode().value()) : "none", start, active, done))
+                    .doOnError(e -> finishUpstream(request, tool, host, outcome(e), start, active, done))
+                    .doOnCancel(() -> finishUpstream(request, tool, host, "cancelled", start, active, done));
+        });
+    }
+
+    private void finishUpstream(ClientRequest request, String tool, String host, String status,
+                                long start, AtomicInteger active, AtomicBoolean done) {
+        if (done.compareAndSet(false, true)) {
+            active.decrementAndGet();
+            timer("mcpgateway.upstream.requests", "Upstream requests, up to the response headers",
+                    "tool", tool, "host", host, "method", request.method().name(), "status", status)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    void recordRequestBytes(String tool, String body) {
+        if (body != null) {
+            summary("mcpgateway.upstream.request.size", "tool", tool).record(utf8Length(body));
+        }
+    }
+
+    void recordResponseBytes(String tool, long bytes) {
+        summary("mcpgateway.upstream.response.size", "tool", tool).record(bytes);
+    }
+
+    /**
+     * Times one JSON-RPC request through the dispatcher. Unknown method names are grouped
+     * under {@code other} so clients cannot create unbounded series.
+     */
+    public <T> Mono<T> timeMcpRequest(String method, Mono<T> response, Predicate<T> isError) {
+        String methodTag = method == null ? "none"
+                : MCP_METHODS.contains(method) ? method
+                : method.startsWith("notifications/") ? "notification" : "other";
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean done = new AtomicBoolean();
+            return response
+                    .doOnSuccess(value -> finishMcpRequest(methodTag,
+                            value == null ? "no_response" : isError.test(value) ? "error" : "result", start, done))
+                    .doOnError(e -> finishMcpRequest(methodTag, "error", start, done))
+                    .doOnCancel(() -> finishMcpRequest(methodTag, "cancelled", start, done));
+        });
+    }
+
+    private void finishMcpRequest(String method, String outcome, long start, AtomicBoolean done) {
+        if (done.compareAndSet(false, true)) {
+            timer("mcpgateway.mcp.requests", "JSON-RPC requests handled by the MCP dispatcher",
+                    "method", method, "outcome", outcome)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Counts a frame that could not be parsed as JSON-RPC.
+     */
+    public void recordMcpParseError(String transport) {
+        Counter.builder("mcpgateway.mcp.parse.errors")
+                .description("Frames that were not valid JSON-RPC")
+                .tag("transport", transport)
+                .register(registry)
+                .increment();
+    }
+
+    private static String outcome(Throwable error) {
+        if (error instanceof ThrottledException) {
+            return "throttled";
+        }
+        if (error instanceof CircuitOpenException) {
+            return "circuit_open";
+        }
+        // A read_timeout_ms expiry reaches here as a request error
+        if (error instanceof TimeoutException || error instanceof WebClientRequestException
+                && error.getCause() instanceof ReadTimeoutException) {
+            return "timeout";
+        }
+        if (error instanceof WebClientResponseException responseError) {
+            return String.valueOf(responseError.getStatusCode().value());
+        }
+        if (error instanceof WebClientRequestException) {
+            return "io_error";
+        }
+        return "error";
+    }
+
+    private Timer timer(String name, String description, String... tags) {
+        return timers.computeIfAbsent(name + String.join("\0", tags), key -> Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private DistributionSummary summary(String name, String... tags) {
+        return summaries.computeIfAbsent(name + String.join("\0", tags), key -> DistributionSummary.builder(name)
+                .baseUnit("bytes")
+                .tags(tags)
+                .publishPercentiles(PERCENTILES)
+                .register(registry));
+    }
+
+    private AtomicInteger gauge(String name, Tags tags) {
+        return gauges.computeIfAbsent(name + tags, key -> {
+            AtomicInteger value = new AtomicInteger();
+            Gauge.builder(name, value, AtomicInteger::get).tags(tags).register(registry);
+            return value;
+        });
+    }
+
+    private static long utf8Length(String text) {
+        long length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Current values of the gateway's meters, with latencies in milliseconds.
+     */
+    public Map<String, Object> snapshot() {
+        List<Map<String, Object>> meters = new ArrayList<>();
+        for (Meter meter : registry.getMeters()) {
+            Meter.Id id = meter.getId();
+            if (!id.getName().startsWith(PREFIX)) {
+                continue;
+            }
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("name", id.getName());
+            Map<String, String> tags = new LinkedHashMap<>();
+            for (Tag tag : id.getTags()) {
+                tags.put(tag.getKey(), tag.getValue());
+            }
+            values.put("tags", tags);
+
+            if (meter instanceof Timer timer) {
+                putHistogram(values, timer.takeSnapshot(), "_ms", TimeUnit.MILLISECONDS);
+            } else if (meter instanceof DistributionSummary summary) {
+                putHistogram(values, summary.takeSnapshot(), "", null);
+            } else if (meter instanceof Gauge gauge) {
+                values.put("value", gauge.value());
+            } else if (meter instanceof Counter counter) {
+                values.put("count", (long) counter.count());
+            } else {
+                continue;
+            }
+            meters.add(values);
+        }
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("timestamp", Instant.now().toString());
+        snapshot.put("meters", meters);
+        return snapshot;
+    }
+
+    private static void putHistogram(Map<String, Object> values, HistogramSnapshot histogram, String suffix, TimeUnit unit) {
+        values.put("count", histogram.count());
+        values.put("mean" + suffix, round(unit != null ? histogram.mean(unit) : histogram.mean()));
+        values.put("max" + suffix, round(unit != null ? histogram.max(unit) : histogram.max()));
+        ValueAtPercentile[] percentiles = histogram.percentileValues();
+        for (int i = 0; i < percentiles.length && i < PERCENTILE_NAMES.length; i++) {
+            ValueAtPercentile percentile = percentiles[i];
+            values.put(PERCENTILE_NAMES[i] + suffix, round(unit != null ? percentile.value(unit) : percentile.value()));
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.mcpgateway.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Thrown when a call's arguments do not match the tool's declared parameters.
+ * Each error has the keys {@code parameter}, {@code code} ({@code missing} or
+ * {@code invalid_type}) and {@code message}, plus {@code expected} and
+ * {@code received} types where known.
+ */
+public class InvalidArgumentsException extends RuntimeException {
+
+    private final String toolName;
+    private final List<Map<String, Object>> errors;
+
+    public InvalidArgumentsException(String toolName, List<Map<String, Object>> errors) {
+        super("Invalid arguments for tool " + toolName + ": "
+                + errors.stream().map(error -> String.valueOf(error.get("message"))).collect(Collectors.joining("; ")));
+        this.toolName = toolName;
+        this.errors = List.copyOf(errors);
+    }
+
+    public String getToolName() {
+        return toolName;
+    }
+
+    public List<Map<String, Object>> getErrors() {
+        return errors;
+    }
+}
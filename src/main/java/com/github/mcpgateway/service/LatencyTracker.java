@@ -0,0 +1,48 @@
+package com.github.mcpgateway.service;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent upstream latencies of a tool and a periodically
+ * refreshed estimate of one percentile, used to time hedged requests.
+ */
+final class LatencyTracker {
+
+    private static final int WINDOW = 128;
+    private static final int MIN_SAMPLES = 20;
+    private static final int RECOMPUTE_EVERY = 16;
+
+    private final double percentile;
+    private final long[] samples = new long[WINDOW];
+    private int next;
+    private int count;
+    private int sinceRecompute;
+    private volatile long estimateNanos = -1;
+
+    LatencyTracker(double percentile) {
+        this.percentile = Math.min(100.0, Math.max(0.0, percentile));
+    }
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % WINDOW;
+        count = Math.min(WINDOW, count + 1);
+
+        sinceRecompute++;
+
+        if (count >= MIN_SAMPLES && (estimateNanos < 0 || sinceRecompute >= RECOMPUTE_EVERY)) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+            estimateNanos = sorted[Math.max(0, Math.min(count - 1, index))];
+            sinceRecompute = 0;
+        }
+    }
+
+    /**
+     * Returns the percentile estimate in nanoseconds, or -1 until enough samples were seen.
+     */
+    long estimateNanos() {
+        return estimateNanos;
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.mcpgateway.service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Percent-encoding of URI components: everything but the unreserved characters
+ * ({@code A-Z a-z 0-9 - . _ ~}) is encoded as UTF-8, so encoded values can be
+ * used as query parameter names and values or path segments. Static URI text
+ * such as a configured endpoint can instead be encoded with {@link #encodeUri},
+ * which only encodes characters that are not allowed anywhere in a URI.
+ */
+final class PercentEncoding {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    private static final String RESERVED = ":/?#[]@!$&'()*+,;=";
+
+    private PercentEncoding() {
+    }
+
+    static String encode(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        append(result, text);
+        return result.toString();
+    }
+
+    static void append(StringBuilder out, String text) {
+        int length = text.length();
+        int plain = 0;
+        while (plain < length && isUnreserved(text.charAt(plain))) {
+            plain++;
+        }
+        if (plain == length) {
+            out.append(text);
+            return;
+        }
+
+        out.append(text, 0, plain);
+        for (byte b : text.substring(plain).getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xFF);
+            if (isUnreserved(c)) {
+                out.append(c);
+            } else {
+                out.append('%').append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            }
+        }
+    }
+
+    /**
+     * Encodes the characters that are illegal in a URI, keeping reserved characters
+     * and existing percent escapes.
+     */
+    static String encodeUri(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (isUnreserved(c) || RESERVED.indexOf(c) >= 0 || (c == '%' && isEscape(text, i))) {
+                result.append(c);
+                continue;
+            }
+            // Encode the whole code point, surrogate pairs included
+            int end = Character.isHighSurrogate(c) && i + 1 < length ? i + 2 : i + 1;
+            for (byte b : text.substring(i, end).getBytes(StandardCharsets.UTF_8)) {
+                result.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+            }
+            i = end - 1;
+        }
+        return result.toString();
+    }
+
+    private static boolean isEscape(String text, int percent) {
+        return percent + 2 < text.length()
+                && Character.digit(text.charAt(percent + 1), 16) >= 0
+                && Character.digit(text.charAt(percent + 2), 16) >= 0;
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+}
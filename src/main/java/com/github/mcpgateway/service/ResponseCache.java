@@ -0,0 +1,142 @@
+package com.github.mcpgateway.service;
+
+import com.github.mcpgateway.model.ApiToolConfig;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-tool LRU cache of decoded upstream responses, bounded by entry count and
+ * by the size of the raw response bodies. Entries past their TTL can still be
+ * served for the stale-while-revalidate window while a single background
+ * refresh replaces them.
+ */
+final class ResponseCache {
+
+    private static final int DEFAULT_TTL_SECONDS = 60;
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+    private static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+
+    private final long ttlNanos;
+    private final long staleNanos;
+    private final int maxEntries;
+    private final long maxBytes;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    ResponseCache(ApiToolConfig.CacheConfig config) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(config.getTtl() != null ? config.getTtl() : DEFAULT_TTL_SECONDS);
+        this.staleNanos = TimeUnit.SECONDS.toNanos(config.getStaleWhileRevalidate() != null ? config.getStaleWhileRevalidate() : 0);
+        this.maxEntries = Math.max(1, config.getMaxEntries() != null ? config.getMaxEntries() : DEFAULT_MAX_ENTRIES);
+        this.maxBytes = config.getMaxBytes() != null ? config.getMaxBytes() : DEFAULT_MAX_BYTES;
+    }
+
+    /**
+     * Returns a fresh or still servable stale entry, or {@code null} on a miss.
+     */
+    synchronized Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        long now = System.nanoTime();
+        if (now - entry.expiresAt <= 0) {
+            hits.increment();
+            return entry;
+        }
+        if (now - entry.staleUntil <= 0) {
+            staleHits.increment();
+            return entry;
+        }
+
+        remove(key);
+        misses.increment();
+        return null;
+    }
+
+    synchronized void put(String key, Object value, int bytes) {
+        if (bytes > maxBytes) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        Entry previous = entries.put(key, new Entry(value, bytes, now + ttlNanos, now + ttlNanos + staleNanos));
+        if (previous != null) {
+            totalBytes -= previous.bytes;
+        }
+        totalBytes += bytes;
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while ((entries.size() > maxEntries || totalBytes > maxBytes) && eldest.hasNext()) {
+            Entry evicted = eldest.next();
+            eldest.remove();
+            totalBytes -= evicted.bytes;
+            evictions.increment();
+        }
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.bytes;
+        }
+    }
+
+    synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.sum());
+        stats.put("stale_hits", staleHits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("entries", entries.size());
+        stats.put("bytes", totalBytes);
+        return stats;
+    }
+
+    static final class Entry {
+        private final Object value;
+        private final int bytes;
+        private final long expiresAt;
+        private final long staleUntil;
+        private final AtomicBoolean revalidating = new AtomicBoolean();
+
+        private Entry(Object value, int bytes, long expiresAt, long staleUntil) {
+            this.value = value;
+            this.bytes = bytes;
+            this.expiresAt = expiresAt;
+            this.staleUntil = staleUntil;
+        }
+
+        Object getValue() {
+            return value;
+        }
+
+        boolean isStale() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+
+        /**
+         * Claims the background refresh for this entry; only the first caller wins.
+         */
+        boolean startRevalidation() {
+            return revalidating.compareAndSet(false, true);
+        }
+
+        void revalidationFailed() {
+            revalidating.set(false);
+        }
+    }
+}
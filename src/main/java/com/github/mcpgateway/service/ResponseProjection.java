@@ -0,0 +1,336 @@
+package com.github.mcpgateway.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.filter.FilteringGeneratorDelegate;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import com.github.mcpgateway.model.ApiToolConfig;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reduces an upstream JSON body to the parts a tool declares in its {@code response} section:
+ * the selected {@code fields}, minus the {@code drop} paths, with arrays cut to
+ * {@code max_array_items}. The body is filtered token by token while it is copied,
+ * so no object tree is built for it.
+ * <p>
+ * Paths are either JSON pointers ({@code /items/0/name}) or a JSONPath subset:
+ * {@code $.a.b}, {@code $.items[*].name}, {@code $.items[0]}, {@code $['a b']} and
+ * deep scans like {@code $..node_id}. Property names may use {@code *} as a wildcard
+ * ({@code $..*_url}).
+ */
+final class ResponseProjection {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final int maxArrayItems;
+    private final Filter root;
+
+    private ResponseProjection(List<Step[]> fields, List<Step[]> drops, int maxArrayItems) {
+        this.maxArrayItems = maxArrayItems;
+
+        boolean includeAll = fields.isEmpty();
+        List<Cursor> includes = new ArrayList<>();
+        for (Step[] field : fields) {
+            if (field.length == 0) {
+                includeAll = true;
+            } else {
+                includes.add(new Cursor(field, 0));
+            }
+        }
+        List<Cursor> dropCursors = new ArrayList<>();
+        for (Step[] drop : drops) {
+            dropCursors.add(new Cursor(drop, 0));
+        }
+        this.root = new Filter(includeAll ? null : toArray(includes), toArray(dropCursors), includeAll);
+    }
+
+    /**
+     * Returns the projection for a tool's response section, or {@code null} when it selects everything.
+     */
+    static ResponseProjection compile(ApiToolConfig.ResponseConfig config) {
+        if (config == null) {
+            return null;
+        }
+        List<Step[]> fields = new ArrayList<>();
+        if (config.getFields() != null) {
+            config.getFields().forEach(path -> fields.add(parsePath(path)));
+        }
+        List<Step[]> drops = new ArrayList<>();
+        if (config.getDrop() != null) {
+            for (String path : config.getDrop()) {
+                Step[] steps = parsePath(path);
+                if (steps.length == 0) {
+                    throw new IllegalStateException("Cannot drop the whole response: " + path);
+                }
+                drops.add(steps);
+            }
+        }
+        int maxArrayItems = config.getMaxArrayItems() != null ? Math.max(0, config.getMaxArrayItems()) : -1;
+
+        if (fields.isEmpty() && drops.isEmpty() && maxArrayItems < 0) {
+            return null;
+        }
+        return new ResponseProjection(fields, drops, maxArrayItems);
+    }
+
+    /**
+     * Copies the parts of the JSON body selected by this projection. Returns an empty
+     * array when nothing matched.
+     */
+    byte[] apply(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(json.length, 8192));
+        // Filtering on the generator side: the parser-side delegate can emit a dangling field
+        // name when the last property of an object is excluded
+        try (JsonParser parser = JSON_FACTORY.createParser(json);
+             JsonGenerator generator = new FilteringGeneratorDelegate(JSON_FACTORY.createGenerator(out), root,
+                     TokenFilter.Inclusion.INCLUDE_ALL_AND_PATH, true)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEventExact(parser);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static Step[] parsePath(String path) {
+        if (path == null || path.isBlank()) {
+            throw new IllegalStateException("Empty response path");
+        }
+        String trimmed = path.trim();
+        if (trimmed.startsWith("/")) {
+            return parsePointer(trimmed);
+        }
+        return parseJsonPath(trimmed.startsWith("$") ? trimmed : "$." + trimmed, path);
+    }
+
+    private static Step[] parsePointer(String pointer) {
+        List<Step> steps = new ArrayList<>();
+        for (String token : pointer.substring(1).split("/", -1)) {
+            String name = token.replace("~1", "/").replace("~0", "~");
+            // A pointer token like "0" can address an object member or an array element
+            steps.add(new Step(name, parseIndex(name), false));
+        }
+        return steps.toArray(new Step[0]);
+    }
+
+    private static Step[] parseJsonPath(String expression, String original) {
+        List<Step> steps = new ArrayList<>();
+        int position = 1;
+        while (position < expression.length()) {
+            boolean deep = false;
+            char c = expression.charAt(position);
+            if (c == '.') {
+                position++;
+                if (position < expression.length() && expression.charAt(position) == '.') {
+                    deep = true;
+                    position++;
+                }
+                if (position >= expression.length()) {
+                    throw new IllegalStateException("Invalid response path: " + original);
+                }
+                c = expression.charAt(position);
+                if (c != '[') {
+                    int end = position;
+                    while (end < expression.length() && ".[".indexOf(expression.charAt(end)) < 0) {
+                        end++;
+                    }
+                    steps.add(new Step(expression.substring(position, end), -1, deep));
+                    position = end;
+                    continue;
+                }
+            } else if (c != '[') {
+                throw new IllegalStateException("Invalid response path: " + original);
+            }
+
+            int end = expression.indexOf(']', position);
+            if (end < 0) {
+                throw new IllegalStateException("Invalid response path: " + original);
+            }
+            String selector = expression.substring(position + 1, end).trim();
+            if (selector.length() >= 2 && (selector.startsWith("'") && selector.endsWith("'")
+                    || selector.startsWith("\"") && selector.endsWith("\""))) {
+                // Quoted names are matched literally, '*' included
+                steps.add(new Step(selector.substring(1, selector.length() - 1), -1, deep, true));
+            } else if ("*".equals(selector)) {
+                steps.add(new Step("*", -1, deep));
+            } else {
+                int index = parseIndex(selector);
+                if (index < 0) {
+                    throw new IllegalStateException("Invalid array index in response path: " + original);
+                }
+                steps.add(new Step(null, index, deep));
+            }
+            position = end + 1;
+        }
+        return steps.toArray(new Step[0]);
+    }
+
+    private static int parseIndex(String token) {
+        if (token.isEmpty() || token.length() > 9) {
+            return -1;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if (!Character.isDigit(token.charAt(i))) {
+                return -1;
+            }
+        }
+        return Integer.parseInt(token);
+    }
+
+    private static Cursor[] toArray(List<Cursor> cursors) {
+        return cursors == null || cursors.isEmpty() ? null : cursors.toArray(new Cursor[0]);
+    }
+
+    private static List<Cursor> add(List<Cursor> cursors, Cursor cursor) {
+        List<Cursor> result = cursors != null ? cursors : new ArrayList<>(2);
+        result.add(cursor);
+        return result;
+    }
+
+    /**
+     * One path segment: a property name pattern, an array index, or both for JSON pointer tokens.
+     * Deep steps match at any depth below the current position.
+     */
+    private record Step(String name, int index, boolean deep, boolean literal) {
+
+        Step(String name, int index, boolean deep) {
+            this(name, index, deep, false);
+        }
+
+        boolean matchesProperty(String property) {
+            if (name == null) {
+                return false;
+            }
+            return literal || name.indexOf('*') < 0 ? name.equals(property) : glob(name, property);
+        }
+
+        boolean matchesElement(int element) {
+            return index == element || !literal && "*".equals(name);
+        }
+
+        private static boolean glob(String pattern, String value) {
+            String[] parts = pattern.split("\\*", -1);
+            if (!value.startsWith(parts[0])) {
+                return false;
+            }
+            int position = parts[0].length();
+            for (int i = 1; i < parts.length - 1; i++) {
+                int found = value.indexOf(parts[i], position);
+                if (found < 0) {
+                    return false;
+                }
+                position = found + parts[i].length();
+            }
+            String last = parts[parts.length - 1];
+            return value.length() - last.length() >= position && value.endsWith(last);
+        }
+    }
+
+    private record Cursor(Step[] steps, int position) {
+
+        Step step() {
+            return steps[position];
+        }
+
+        boolean isLast() {
+            return position == steps.length - 1;
+        }
+
+        Cursor next() {
+            return new Cursor(steps, position + 1);
+        }
+    }
+
+    /**
+     * Filter state at one position in the document: the include and drop paths that can
+     * still match below it, and whether the position itself is already selected.
+     */
+    private final class Filter extends TokenFilter {
+
+        private final Cursor[] includes;
+        private final Cursor[] drops;
+        private final boolean included;
+
+        private Filter(Cursor[] includes, Cursor[] drops, boolean included) {
+            this.includes = includes;
+            this.drops = drops;
+            this.included = included;
+        }
+
+        @Override
+        public TokenFilter includeProperty(String name) {
+            return descend(name, -1);
+        }
+
+        @Override
+        public TokenFilter includeElement(int index) {
+            if (maxArrayItems >= 0 && index >= maxArrayItems) {
+                return null;
+            }
+            return descend(null, index);
+        }
+
+        private TokenFilter descend(String name, int index) {
+            List<Cursor> nextDrops = null;
+            if (drops != null) {
+                for (Cursor drop : drops) {
+                    Step step = drop.step();
+                    if (name != null ? step.matchesProperty(name) : step.matchesElement(index)) {
+                        if (drop.isLast()) {
+                            return null;
+                        }
+                        nextDrops = add(nextDrops, drop.next());
+                    }
+                    if (step.deep()) {
+                        nextDrops = add(nextDrops, drop);
+                    }
+                }
+            }
+
+            boolean childIncluded = included;
+            List<Cursor> nextIncludes = null;
+            if (!included) {
+                for (Cursor include : includes) {
+                    Step step = include.step();
+                    if (name != null ? step.matchesProperty(name) : step.matchesElement(index)) {
+                        if (include.isLast()) {
+                            childIncluded = true;
+                            break;
+                        }
+                        nextIncludes = add(nextIncludes, include.next());
+                    }
+                    if (step.deep()) {
+                        nextIncludes = add(nextIncludes, include);
+                    }
+                }
+                if (!childIncluded && nextIncludes == null) {
+                    return null;
+                }
+            }
+
+            if (childIncluded && nextDrops == null && maxArrayItems < 0) {
+                return TokenFilter.INCLUDE_ALL;
+            }
+            return new Filter(childIncluded ? null : toArray(nextIncludes), toArray(nextDrops), childIncluded);
+        }
+
+        @Override
+        protected boolean _includeScalar() {
+            return included;
+        }
+
+        @Override
+        public boolean includeEmptyObject(boolean contentsFiltered) {
+            return included;
+        }
+
+        @Override
+        public boolean includeEmptyArray(boolean contentsFiltered) {
+            return included;
+        }
+    }
+}
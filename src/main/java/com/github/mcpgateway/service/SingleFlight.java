@@ -0,0 +1,53 @@
+package com.github.mcpgateway.service;
+
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent calls: while a call for a key is in flight,
+ * later callers with the same key subscribe to it instead of starting their own.
+ */
+final class SingleFlight<T> {
+
+    private final ConcurrentHashMap<String, Mono<T>> calls = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    Mono<T> execute(String key, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            Mono<T> existing = calls.get(key);
+            if (existing != null) {
+                coalesced.increment();
+                return existing;
+            }
+
+            AtomicReference<Mono<T>> self = new AtomicReference<>();
+            Mono<T> shared = Mono.defer(call)
+                    .doFinally(signal -> calls.remove(key, self.get()))
+                    .cache();
+            self.set(shared);
+
+            existing = calls.putIfAbsent(key, shared);
+            if (existing != null) {
+                coalesced.increment();
+                return existing;
+            }
+            executed.increment();
+            return shared;
+        });
+    }
+
+    Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("executed", executed.sum());
+        stats.put("coalesced", coalesced.sum());
+        stats.put("in_flight", calls.size());
+        return stats;
+    }
+}
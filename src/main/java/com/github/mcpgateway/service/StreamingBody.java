@@ -0,0 +1,105 @@
+package com.github.mcpgateway.service;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Turns upstream body chunks into the contents of a JSON string as they arrive,
+ * without decoding them, and stops at a byte cap. Only ASCII bytes ever need
+ * escaping, so chunks can be escaped independently of UTF-8 sequence boundaries;
+ * the cap is moved back to a character boundary when it cuts a sequence.
+ */
+final class StreamingBody {
+
+    static final byte[] PREFIX = "{\"success\":true,\"data\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final long maxBytes;
+    private long bytes;
+    private boolean truncated;
+    private boolean failed;
+
+    StreamingBody(Long maxBytes) {
+        this.maxBytes = maxBytes != null && maxBytes > 0 ? maxBytes : Long.MAX_VALUE;
+    }
+
+    /**
+     * Escapes as much of the chunk as fits under the cap and releases the buffer.
+     */
+    byte[] escape(DataBuffer buffer) {
+        byte[] raw = new byte[buffer.readableByteCount()];
+        buffer.read(raw);
+        DataBufferUtils.release(buffer);
+
+        int length = raw.length;
+        if (bytes + length > maxBytes) {
+            length = (int) (maxBytes - bytes);
+            // Don't split a multi-byte UTF-8 character
+            while (length > 0 && (raw[length] & 0xC0) == 0x80) {
+                length--;
+            }
+            truncated = true;
+        }
+        bytes += length;
+
+        byte[] escaped = new byte[length + length / 8 + 16];
+        int position = 0;
+        for (int i = 0; i < length; i++) {
+            if (position + 6 > escaped.length) {
+                escaped = Arrays.copyOf(escaped, escaped.length * 2);
+            }
+            byte b = raw[i];
+            if (b == '"' || b == '\\') {
+                escaped[position++] = '\\';
+                escaped[position++] = b;
+            } else if (b >= 0 && b < 0x20) {
+                escaped[position++] = '\\';
+                switch (b) {
+                    case '\n' -> escaped[position++] = 'n';
+                    case '\r' -> escaped[position++] = 'r';
+                    case '\t' -> escaped[position++] = 't';
+                    default -> {
+                        escaped[position++] = 'u';
+                        escaped[position++] = '0';
+                        escaped[position++] = '0';
+                        escaped[position++] = HEX[b >> 4];
+                        escaped[position++] = HEX[b & 0xF];
+                    }
+                }
+            } else {
+                escaped[position++] = b;
+            }
+        }
+        return position == escaped.length ? escaped : Arrays.copyOf(escaped, position);
+    }
+
+    boolean isTruncated() {
+        return truncated;
+    }
+
+    boolean isFailed() {
+        return failed;
+    }
+
+    long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Closes the data string and the envelope.
+     */
+    byte[] suffix() {
+        return ("\",\"truncated\":" + truncated + ",\"bytes\":" + bytes + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Closes the data string and the envelope after the upstream failed mid-body.
+     */
+    byte[] errorSuffix(String quotedError) {
+        failed = true;
+        return ("\",\"truncated\":true,\"bytes\":" + bytes + ",\"error\":" + quotedError + "}").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,222 @@
+package com.github.mcpgateway.service;
+
+import com.github.mcpgateway.model.LimitsConfig;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket rate limit and concurrency bulkhead in front of upstream requests. Requests
+ * over either limit wait in a FIFO queue, bounded in length and in wait time, and fail with
+ * a {@link ThrottledException} when the queue is full or the wait runs out. Waiting never
+ * blocks a thread.
+ */
+final class Throttle {
+
+    private static final int DEFAULT_MAX_QUEUE = 1000;
+    private static final long DEFAULT_MAX_WAIT_MS = 10_000;
+
+    private final String name;
+    // 0 = no rate limit / no concurrency limit
+    private final double tokensPerNano;
+    private final double burst;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long maxWaitMs;
+
+    // Guarded by this
+    private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+    private double tokens;
+    private long refilledAt = System.nanoTime();
+    private int active;
+    private int maxQueued;
+    private boolean drainScheduled;
+    private long admitted;
+    private long delayed;
+    private long rejected;
+    private long timedOut;
+
+    private Throttle(String name, LimitsConfig config) {
+        this.name = name;
+        double rate = config.getRequestsPerSecond() != null ? Math.max(0, config.getRequestsPerSecond()) : 0;
+        this.tokensPerNano = rate / TimeUnit.SECONDS.toNanos(1);
+        this.burst = config.getBurst() != null ? Math.max(1, config.getBurst()) : Math.max(1, Math.ceil(rate));
+        this.tokens = burst;
+        this.maxConcurrent = config.getMaxConcurrent() != null ? Math.max(0, config.getMaxConcurrent()) : 0;
+        this.maxWaitMs = config.getMaxWaitMs() != null ? Math.max(0, config.getMaxWaitMs()) : DEFAULT_MAX_WAIT_MS;
+        // Without a wait time there is nothing to queue for
+        this.maxQueue = maxWaitMs == 0 ? 0 : config.getMaxQueue() != null ? Math.max(0, config.getMaxQueue()) : DEFAULT_MAX_QUEUE;
+    }
+
+    /**
+     * Returns the throttle for the given limits, or {@code null} when they set neither a
+     * rate nor a concurrency limit.
+     */
+    static Throttle create(String name, LimitsConfig config) {
+        if (config == null) {
+            return null;
+        }
+        boolean rateLimited = config.getRequestsPerSecond() != null && config.getRequestsPerSecond() > 0;
+        boolean bulkhead = config.getMaxConcurrent() != null && config.getMaxConcurrent() > 0;
+        return rateLimited || bulkhead ? new Throttle(name, config) : null;
+    }
+
+    /**
+     * Subscribes to the call once it is admitted and holds its concurrency slot until it terminates.
+     */
+    <T> Mono<T> execute(Mono<T> call) {
+        return acquire().then(call.doFinally(signal -> release()));
+    }
+
+    <T> Flux<T> execute(Flux<T> call) {
+        return acquire().thenMany(call.doFinally(signal -> release()));
+    }
+
+    private Mono<Void> acquire() {
+        return Mono.create(sink -> {
+            boolean admit = false;
+            boolean reject = false;
+            synchronized (this) {
+                refill(System.nanoTime());
+                if (queue.isEmpty() && hasCapacity()) {
+                    take();
+                    admit = true;
+                } else if (queue.size() >= maxQueue) {
+                    rejected++;
+                    reject = true;
+                } else {
+                    Waiter waiter = new Waiter(sink);
+                    queue.add(waiter);
+                    delayed++;
+                    maxQueued = Math.max(maxQueued, queue.size());
+                    waiter.timeout = Schedulers.parallel().schedule(() -> expire(waiter), maxWaitMs, TimeUnit.MILLISECONDS);
+                    sink.onCancel(() -> cancel(waiter));
+                    scheduleRefillDrain();
+                }
+            }
+            if (admit) {
+                sink.success();
+            } else if (reject) {
+                sink.error(new ThrottledException("Rate limit exceeded for " + name + ": queue full (" + maxQueue + " waiting)"));
+            }
+        });
+    }
+
+    private void release() {
+        synchronized (this) {
+            active--;
+        }
+        drain();
+    }
+
+    private void drain() {
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (this) {
+            refill(System.nanoTime());
+            while (!queue.isEmpty() && hasCapacity()) {
+                Waiter waiter = queue.poll();
+                waiter.granted = true;
+                granted.add(waiter);
+                take();
+            }
+            scheduleRefillDrain();
+        }
+        for (Waiter waiter : granted) {
+            waiter.timeout.dispose();
+            waiter.sink.success();
+        }
+    }
+
+    private void expire(Waiter waiter) {
+        synchronized (this) {
+            if (!queue.remove(waiter)) {
+                return;
+            }
+            timedOut++;
+        }
+        waiter.sink.error(new ThrottledException("Rate limit exceeded for " + name + ": no slot within " + maxWaitMs + " ms"));
+    }
+
+    private void cancel(Waiter waiter) {
+        boolean granted;
+        synchronized (this) {
+            queue.remove(waiter);
+            granted = waiter.granted;
+        }
+        waiter.timeout.dispose();
+        if (granted) {
+            // Granted, but cancelled before the call was subscribed: hand the slot back
+            release();
+        }
+    }
+
+    // Wakes the queue up when the next token is due, if tokens are all that is missing
+    private void scheduleRefillDrain() {
+        if (drainScheduled || queue.isEmpty() || tokensPerNano == 0 || tokens >= 1
+                || (maxConcurrent > 0 && active >= maxConcurrent)) {
+            return;
+        }
+        drainScheduled = true;
+        long delayNanos = (long) Math.ceil((1 - tokens) / tokensPerNano);
+        Schedulers.parallel().schedule(() -> {
+            synchronized (this) {
+                drainScheduled = false;
+            }
+            drain();
+        }, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void refill(long now) {
+        if (tokensPerNano > 0) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+        }
+        refilledAt = now;
+    }
+
+    private boolean hasCapacity() {
+        return (maxConcurrent == 0 || active < maxConcurrent) && (tokensPerNano == 0 || tokens >= 1);
+    }
+
+    private void take() {
+        active++;
+        admitted++;
+        if (tokensPerNano > 0) {
+            tokens -= 1;
+        }
+    }
+
+    synchronized Map<String, Object> getStats() {
+        refill(System.nanoTime());
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("active", active);
+        stats.put("max_concurrent", maxConcurrent);
+        stats.put("queued", queue.size());
+        stats.put("max_queued", maxQueued);
+        stats.put("tokens", tokensPerNano > 0 ? Math.floor(tokens * 100) / 100 : null);
+        stats.put("admitted", admitted);
+        stats.put("delayed", delayed);
+        stats.put("rejected", rejected);
+        stats.put("timed_out", timedOut);
+        return stats;
+    }
+
+    private static final class Waiter {
+        private final MonoSink<Void> sink;
+        private Disposable timeout;
+        // Guarded by the throttle
+        private boolean granted;
+
+        private Waiter(MonoSink<Void> sink) {
+            this.sink = sink;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.github.mcpgateway.service;
+
+/**
+ * A call was turned away by a tool or upstream {@code limits} block before reaching the upstream.
+ */
+final class ThrottledException extends RuntimeException {
+
+    ThrottledException(String message) {
+        super(message);
+    }
+}
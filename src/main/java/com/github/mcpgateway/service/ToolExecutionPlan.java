@@ -0,0 +1,291 @@
+package com.github.mcpgateway.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mcpgateway.model.ApiToolConfig;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Everything needed to call a tool's upstream API that can be worked out once
+ * when the configuration is loaded: the resolved HTTP method, the URI plan for the
+ * endpoint and query parameters, the argument binding and the body template, the
+ * timeout, retry and hedging policies, the response projection, and the tool's
+ * response cache, call coalescing and rate limit state, if enabled.
+ * <p>
+ * When a plan replaces the previous plan of the same tool on a reload, that state is carried
+ * over as long as the settings it depends on are unchanged.
+ */
+public final class ToolExecutionPlan {
+
+    // Compares config sections, which have no equals of their own
+    private static final ObjectMapper SETTINGS_MAPPER = new ObjectMapper();
+
+    private final ApiToolConfig tool;
+    private final HttpMethod method;
+    private final String scheme;
+    private final String host;
+    private final CompiledUri uri;
+    private final CompiledParameters parameters;
+    private final List<String> pathVariables;
+    private final CompiledTemplate bodyTemplate;
+    private final ResponseCache responseCache;
+    private final SingleFlight<Object> singleFlight;
+    private final Duration timeout;
+    private final Duration readTimeout;
+    private final Retry retry;
+    private final Duration hedgeDelay;
+    private final LatencyTracker latencyTracker;
+    private final boolean streaming;
+    private final Long maxResponseBytes;
+    private final ResponseProjection projection;
+    private final Throttle throttle;
+
+    private ToolExecutionPlan(ApiToolConfig tool, ToolExecutionPlan previous) {
+        this.tool = tool;
+        this.method = tool.getMethod() != null
+                ? HttpMethod.valueOf(tool.getMethod().toUpperCase())
+                : HttpMethod.GET;
+
+        String endpoint = tool.getEndpoint() != null ? tool.getEndpoint() : "";
+        int schemeEnd = endpoint.indexOf("://");
+        this.scheme = schemeEnd > 0 ? endpoint.substring(0, schemeEnd).toLowerCase() : "http";
+        this.host = parseHost(endpoint, schemeEnd > 0 ? schemeEnd + 3 : 0);
+
+        ArgumentSlots slots = new ArgumentSlots(tool.getParameters() != null ? tool.getParameters().keySet() : List.of());
+        // As before, query parameters are only sent by GET tools and body templates by the others
+        this.uri = CompiledUri.compile(endpoint, HttpMethod.GET.equals(method) ? tool.getQueryParams() : null, slots);
+        this.bodyTemplate = tool.getTemplate() != null && !HttpMethod.GET.equals(method)
+                ? CompiledTemplate.compile(tool.getTemplate(), bodyEncoding(tool.getTemplate()), slots)
+                : null;
+        this.parameters = CompiledParameters.compile(tool.getName(), tool.getParameters(), slots);
+        this.pathVariables = slots.requiredNames();
+
+        // Cached and shared results are keyed by the rendered request and hold the projected response
+        boolean sameResponses = previous != null && sameSettings(tool.getResponse(), previous.tool.getResponse());
+        // Only idempotent GET tools may opt into response caching
+        if (tool.getCache() == null || !HttpMethod.GET.equals(method)) {
+            this.responseCache = null;
+        } else if (sameResponses && previous.responseCache != null && sameSettings(tool.getCache(), previous.tool.getCache())) {
+            this.responseCache = previous.responseCache;
+        } else {
+            this.responseCache = new ResponseCache(tool.getCache());
+        }
+        if (!tool.isCoalesce() || !isSafe(method)) {
+            this.singleFlight = null;
+        } else {
+            this.singleFlight = sameResponses && previous.singleFlight != null ? previous.singleFlight : new SingleFlight<>();
+        }
+
+        this.timeout = tool.getTimeout() != null ? Duration.ofSeconds(tool.getTimeout()) : null;
+        this.readTimeout = tool.getReadTimeoutMs() != null ? Duration.ofMillis(tool.getReadTimeoutMs()) : null;
+
+        // Retries and hedged requests would duplicate side effects, so only idempotent methods get them
+        boolean idempotent = isSafe(method) || HttpMethod.PUT.equals(method) || HttpMethod.DELETE.equals(method);
+        this.retry = tool.getRetry() != null && idempotent ? createRetry(tool.getRetry()) : null;
+
+        ApiToolConfig.HedgeConfig hedge = idempotent ? tool.getHedge() : null;
+        this.hedgeDelay = hedge != null && hedge.getDelayMs() != null ? Duration.ofMillis(hedge.getDelayMs()) : null;
+        if (hedge == null || hedge.getPercentile() == null) {
+            this.latencyTracker = null;
+        } else if (previous != null && previous.latencyTracker != null && Objects.equals(tool.getEndpoint(), previous.tool.getEndpoint())
+                && sameSettings(hedge, previous.tool.getHedge())) {
+            this.latencyTracker = previous.latencyTracker;
+        } else {
+            this.latencyTracker = new LatencyTracker(hedge.getPercentile());
+        }
+
+        this.streaming = tool.getResponse() != null && tool.getResponse().isStreaming();
+        this.maxResponseBytes = tool.getResponse() != null ? tool.getResponse().getMaxBytes() : null;
+        // Streamed bodies are forwarded as text, so projections only apply to decoded responses
+        this.projection = streaming ? null : ResponseProjection.compile(tool.getResponse());
+        // Keeps the tokens, running calls and queue of the current limits
+        this.throttle = previous != null && previous.throttle != null && sameSettings(tool.getLimits(), previous.tool.getLimits())
+                ? previous.throttle
+                : Throttle.create("tool " + tool.getName(), tool.getLimits());
+    }
+
+    // Only JSON bodies get JSON values; form data and other text gets the values as they are
+    private static CompiledTemplate.Encoding bodyEncoding(String template) {
+        String body = template.trim();
+        return body.startsWith("{") || body.startsWith("[") ? CompiledTemplate.Encoding.JSON : CompiledTemplate.Encoding.TEXT;
+    }
+
+    private static boolean sameSettings(Object current, Object previous) {
+        return Objects.equals(SETTINGS_MAPPER.valueToTree(current), SETTINGS_MAPPER.valueToTree(previous));
+    }
+
+    private static Retry createRetry(ApiToolConfig.RetryConfig config) {
+        int maxAttempts = config.getMaxAttempts() != null ? config.getMaxAttempts() : 3;
+        Duration backoff = Duration.ofMillis(config.getBackoffMs() != null ? config.getBackoffMs() : 100);
+        Duration maxBackoff = Duration.ofMillis(config.getMaxBackoffMs() != null ? config.getMaxBackoffMs() : 2000);
+
+        return Retry.backoff(Math.max(0, maxAttempts - 1), backoff)
+                .maxBackoff(maxBackoff)
+                .jitter(config.getJitter() != null ? config.getJitter() : 0.5)
+                .filter(ToolExecutionPlan::isRetryable)
+                // Surface the last upstream error rather than a RetryExhaustedException
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    private static boolean isRetryable(Throwable error) {
+        if (error instanceof WebClientResponseException responseError) {
+            int status = responseError.getStatusCode().value();
+            return status >= 500 || status == 429 || status == 408;
+        }
+        // Connection failures, connect and read timeouts
+        return error instanceof WebClientRequestException;
+    }
+
+    private static String parseHost(String endpoint, int authorityStart) {
+        int authorityEnd = authorityStart;
+        while (authorityEnd < endpoint.length() && "/?#".indexOf(endpoint.charAt(authorityEnd)) < 0) {
+            authorityEnd++;
+        }
+        String authority = endpoint.substring(authorityStart, authorityEnd);
+        authority = authority.substring(authority.lastIndexOf('@') + 1);
+
+        int portStart = authority.startsWith("[") ? authority.indexOf(':', authority.indexOf(']')) : authority.indexOf(':');
+        return (portStart >= 0 ? authority.substring(0, portStart) : authority).toLowerCase();
+    }
+
+    private static boolean isSafe(HttpMethod method) {
+        return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method);
+    }
+
+    public static ToolExecutionPlan compile(ApiToolConfig tool) {
+        return new ToolExecutionPlan(tool, null);
+    }
+
+    /**
+     * Compiles a tool that replaces {@code previous} on a reload, keeping its response cache,
+     * coalesced calls, latency estimate and rate limit state where their settings are unchanged.
+     *
+     * @param previous the tool's current plan, or {@code null} for a new tool
+     */
+    public static ToolExecutionPlan compile(ApiToolConfig tool, ToolExecutionPlan previous) {
+        return new ToolExecutionPlan(tool, previous);
+    }
+
+    public String getName() {
+        return tool.getName();
+    }
+
+    public ApiToolConfig getTool() {
+        return tool;
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    public String getEndpoint() {
+        return tool.getEndpoint();
+    }
+
+    /**
+     * The parameters used as path variables in the endpoint, which every call must provide.
+     */
+    public List<String> getPathVariables() {
+        return pathVariables;
+    }
+
+    CompiledUri getUri() {
+        return uri;
+    }
+
+    public String getScheme() {
+        return scheme;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * Validates a call's arguments against the tool's parameters and binds them into an
+     * array indexed by argument slot, applying defaults and converting declared values
+     * to their type.
+     *
+     * @throws InvalidArgumentsException if parameters are missing or have the wrong type
+     */
+    public Object[] bindArguments(Map<String, Object> input) {
+        return parameters.bind(input);
+    }
+
+    /**
+     * Like {@link #bindArguments(Map)}, for the {@code arguments} of an MCP {@code tools/call}.
+     */
+    public Object[] bindArguments(JsonNode arguments) {
+        return parameters.bind(arguments);
+    }
+
+    public CompiledTemplate getBodyTemplate() {
+        return bodyTemplate;
+    }
+
+    ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    SingleFlight<Object> getSingleFlight() {
+        return singleFlight;
+    }
+
+    Duration getTimeout() {
+        return timeout;
+    }
+
+    Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    Integer getConnectTimeoutMs() {
+        return tool.getConnectTimeoutMs();
+    }
+
+    Retry getRetry() {
+        return retry;
+    }
+
+    boolean isStreaming() {
+        return streaming;
+    }
+
+    Long getMaxResponseBytes() {
+        return maxResponseBytes;
+    }
+
+    ResponseProjection getProjection() {
+        return projection;
+    }
+
+    Throttle getThrottle() {
+        return throttle;
+    }
+
+    LatencyTracker getLatencyTracker() {
+        return latencyTracker;
+    }
+
+    /**
+     * Returns how long to wait before sending a hedged second attempt: the tracked
+     * latency percentile once known, otherwise the configured delay ({@code null} = no hedging).
+     */
+    Duration getHedgeDelay() {
+        if (latencyTracker != null) {
+            long estimate = latencyTracker.estimateNanos();
+            if (estimate > 0) {
+                return Duration.ofNanos(estimate);
+            }
+        }
+        return hedgeDelay;
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.mcpgateway.service;
+
+import com.github.mcpgateway.model.ApiToolConfig;
+import com.github.mcpgateway.model.ServerConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable name to execution plan index built from a loaded {@link ServerConfig}.
+ * Tool names must be unique; duplicates are rejected when the index is built.
+ */
+public final class ToolRegistry {
+
+    private final ServerConfig serverConfig;
+    private final List<ToolExecutionPlan> plans;
+    private final Map<String, ToolExecutionPlan> plansByName;
+
+    private ToolRegistry(ServerConfig serverConfig, List<ToolExecutionPlan> plans, Map<String, ToolExecutionPlan> plansByName) {
+        this.serverConfig = serverConfig;
+        this.plans = plans;
+        this.plansByName = plansByName;
+    }
+
+    public static ToolRegistry build(ServerConfig serverConfig) {
+        return build(serverConfig, null);
+    }
+
+    /**
+     * Builds the registry that replaces {@code previous} on a reload; tools that keep their
+     * name keep their state (see {@link ToolExecutionPlan#compile(ApiToolConfig, ToolExecutionPlan)}).
+     */
+    public static ToolRegistry build(ServerConfig serverConfig, ToolRegistry previous) {
+        List<ToolExecutionPlan> plans = new ArrayList<>();
+        Map<String, ToolExecutionPlan> plansByName = new HashMap<>();
+
+        if (serverConfig != null && serverConfig.getTools() != null) {
+            for (ApiToolConfig tool : serverConfig.getTools()) {
+                if (tool.getName() == null || tool.getName().isBlank()) {
+                    throw new IllegalStateException("Tool without a name for endpoint: " + tool.getEndpoint());
+                }
+                ToolExecutionPlan plan = ToolExecutionPlan.compile(tool, previous != null ? previous.plansByName.get(tool.getName()) : null);
+                if (plansByName.putIfAbsent(tool.getName(), plan) != null) {
+                    throw new IllegalStateException("Duplicate tool name: " + tool.getName());
+                }
+                plans.add(plan);
+            }
+        }
+
+        return new ToolRegistry(serverConfig, Collections.unmodifiableList(plans), Collections.unmodifiableMap(plansByName));
+    }
+
+    public ServerConfig getServerConfig() {
+        return serverConfig;
+    }
+
+    public List<ToolExecutionPlan> getPlans() {
+        return plans;
+    }
+
+    public Optional<ToolExecutionPlan> find(String toolName) {
+        return Optional.ofNullable(plansByName.get(toolName));
+    }
+
+    public int size() {
+        return plans.size();
+    }
+}
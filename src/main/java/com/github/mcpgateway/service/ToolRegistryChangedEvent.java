@@ -0,0 +1,7 @@
+package com.github.mcpgateway.service;
+
+/**
+ * Published after a reloaded configuration has replaced the active {@link ToolRegistry}.
+ */
+public record ToolRegistryChangedEvent(ToolRegistry registry) {
+}
@@ -0,0 +1,242 @@
+package com.github.mcpgateway.service;
+
+import com.github.mcpgateway.model.ServerConfig;
+import io.netty.channel.ChannelOption;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * WebClients per upstream origin. Hosts declared under {@code upstreams} get a dedicated
+ * connection pool with their own limits and HTTP settings, so a slow host can only exhaust
+ * its own connections; every other host uses the shared default pool. Hosts with
+ * {@code limits} also get a {@link Throttle} shared by every tool that calls them, and
+ * hosts with a {@code circuit_breaker} a {@link CircuitBreaker}.
+ */
+final class UpstreamClients {
+
+    private static final String DEFAULT_POOL = "default";
+    // Reactor context key holding the nanoTime at which a request started waiting for a connection
+    private static final String ACQUIRE_START = UpstreamClients.class.getName() + ".acquireStart";
+
+    private final Map<String, ServerConfig.UpstreamConfig> upstreamConfigs;
+    private final int maxInMemorySize;
+    private final GatewayMetrics metrics;
+    private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+    private final Map<String, WebClient> clients = new ConcurrentHashMap<>();
+    private final Map<String, Throttle> throttles = new LinkedHashMap<>();
+    private final Map<String, CircuitBreaker> circuitBreakers = new LinkedHashMap<>();
+
+    UpstreamClients(Map<String, ServerConfig.UpstreamConfig> upstreamConfigs, int maxInMemorySize, GatewayMetrics metrics) {
+        this.upstreamConfigs = upstreamConfigs != null ? upstreamConfigs : Map.of();
+        this.maxInMemorySize = maxInMemorySize;
+        this.metrics = metrics;
+        this.upstreamConfigs.forEach((host, config) -> {
+            Throttle throttle = Throttle.create("upstream " + host, config.getLimits());
+            if (throttle != null) {
+                throttles.put(host, throttle);
+            }
+            if (config.getCircuitBreaker() != null) {
+                circuitBreakers.put(host, new CircuitBreaker(host, config.getCircuitBreaker()));
+            }
+        });
+    }
+
+    WebClient clientFor(ToolExecutionPlan plan) {
+        String key = plan.getScheme() + "://" + plan.getHost() + "#" + plan.getConnectTimeoutMs();
+        return clients.computeIfAbsent(key, ignored -> createClient(plan));
+    }
+
+    /**
+     * Returns the rate limit shared by all tools calling the host, or {@code null}.
+     */
+    Throttle throttleFor(String host) {
+        return throttles.get(host);
+    }
+
+    CircuitBreaker circuitBreakerFor(String host) {
+        return circuitBreakers.get(host);
+    }
+
+    /**
+     * Marks the start of a request so the time spent waiting for a pooled connection is recorded.
+     */
+    <T> Mono<T> timed(Mono<T> request) {
+        return request.contextWrite(context -> context.put(ACQUIRE_START, System.nanoTime()));
+    }
+
+    <T> Flux<T> timed(Flux<T> request) {
+        return request.contextWrite(context -> context.put(ACQUIRE_START, System.nanoTime()));
+    }
+
+    private WebClient createClient(ToolExecutionPlan plan) {
+        ServerConfig.UpstreamConfig config = upstreamConfigs.get(plan.getHost());
+        Pool pool = config != null
+                ? pools.computeIfAbsent(plan.getHost(), host -> new Pool(host, config))
+                : pools.computeIfAbsent(DEFAULT_POOL, name -> new Pool(name, null));
+
+        HttpClient httpClient = HttpClient.create(pool.provider)
+                .doOnRequest((request, connection) -> {
+                    Long start = request.currentContextView().getOrDefault(ACQUIRE_START, null);
+                    if (start != null) {
+                        pool.recordAcquire(System.nanoTime() - start);
+                    }
+                });
+
+        Integer connectTimeout = plan.getConnectTimeoutMs() != null
+                ? plan.getConnectTimeoutMs()
+                : config != null ? config.getConnectTimeoutMs() : null;
+        if (connectTimeout != null) {
+            httpClient = httpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout);
+        }
+        if (config != null) {
+            if (config.getKeepAlive() != null) {
+                httpClient = httpClient.keepAlive(config.getKeepAlive());
+            }
+            if (Boolean.TRUE.equals(config.getCompression())) {
+                httpClient = httpClient.compress(true);
+            }
+            if (Boolean.TRUE.equals(config.getHttp2())) {
+                // HTTP/2 is negotiated via ALPN over TLS, or cleartext upgrade for plain http
+                httpClient = "https".equals(plan.getScheme())
+                        ? httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure()
+                        : httpClient.protocol(HttpProtocol.HTTP11, HttpProtocol.H2C);
+            }
+        }
+
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(metrics.upstreamFilter(plan.getHost()))
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(maxInMemorySize))
+                .build();
+    }
+
+    Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        pools.forEach((name, pool) -> stats.put(name, pool.getStats()));
+        return stats;
+    }
+
+    Map<String, Object> getThrottleStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        throttles.forEach((host, throttle) -> stats.put(host, throttle.getStats()));
+        return stats;
+    }
+
+    List<String> getOpenCircuits() {
+        List<String> open = new ArrayList<>();
+        circuitBreakers.forEach((host, circuitBreaker) -> {
+            if (circuitBreaker.isOpen()) {
+                open.add(host);
+            }
+        });
+        return open;
+    }
+
+    Map<String, Object> getCircuitBreakerStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        circuitBreakers.forEach((host, circuitBreaker) -> stats.put(host, circuitBreaker.getStats()));
+        return stats;
+    }
+
+    void dispose() {
+        pools.values().forEach(pool -> pool.provider.dispose());
+        pools.clear();
+        clients.clear();
+    }
+
+    private static final class Pool {
+        private final ConnectionProvider provider;
+        private final Map<SocketAddress, ConnectionPoolMetrics> metrics = new ConcurrentHashMap<>();
+        private final LongAdder acquires = new LongAdder();
+        private final LongAdder acquireNanos = new LongAdder();
+        private final LongAccumulator maxAcquireNanos = new LongAccumulator(Math::max, 0);
+
+        private Pool(String name, ServerConfig.UpstreamConfig config) {
+            ConnectionProvider.Builder builder = ConnectionProvider.builder("upstream-" + name)
+                    .metrics(true, () -> new ConnectionProvider.MeterRegistrar() {
+                        @Override
+                        public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics poolMetrics) {
+                            metrics.put(remoteAddress, poolMetrics);
+                        }
+
+                        @Override
+                        public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+                            metrics.remove(remoteAddress);
+                        }
+                    });
+
+            if (config != null) {
+                if (config.getMaxConnections() != null) {
+                    builder.maxConnections(config.getMaxConnections());
+                }
+                if (config.getPendingAcquireMaxCount() != null) {
+                    builder.pendingAcquireMaxCount(config.getPendingAcquireMaxCount());
+                }
+                if (config.getPendingAcquireTimeoutMs() != null) {
+                    builder.pendingAcquireTimeout(Duration.ofMillis(config.getPendingAcquireTimeoutMs()));
+                }
+                if (config.getMaxIdleTimeMs() != null) {
+                    builder.maxIdleTime(Duration.ofMillis(config.getMaxIdleTimeMs()));
+                }
+                if (config.getMaxLifeTimeMs() != null) {
+                    builder.maxLifeTime(Duration.ofMillis(config.getMaxLifeTimeMs()));
+                }
+                if (config.getEvictionIntervalMs() != null) {
+                    builder.evictInBackground(Duration.ofMillis(config.getEvictionIntervalMs()));
+                }
+            }
+            this.provider = builder.build();
+        }
+
+        private void recordAcquire(long nanos) {
+            acquires.increment();
+            acquireNanos.add(nanos);
+            maxAcquireNanos.accumulate(nanos);
+        }
+
+        private Map<String, Object> getStats() {
+            int acquired = 0;
+            int allocated = 0;
+            int idle = 0;
+            int pending = 0;
+            int maxConnections = 0;
+            for (ConnectionPoolMetrics poolMetrics : metrics.values()) {
+                acquired += poolMetrics.acquiredSize();
+                allocated += poolMetrics.allocatedSize();
+                idle += poolMetrics.idleSize();
+                pending += poolMetrics.pendingAcquireSize();
+                maxConnections += poolMetrics.maxAllocatedSize();
+            }
+
+            long count = acquires.sum();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("remote_addresses", metrics.size());
+            stats.put("acquired", acquired);
+            stats.put("allocated", allocated);
+            stats.put("idle", idle);
+            stats.put("pending_acquire", pending);
+            stats.put("max_connections", maxConnections);
+            stats.put("requests", count);
+            stats.put("avg_acquire_ms", count > 0 ? acquireNanos.sum() / count / 1_000_000.0 : 0.0);
+            stats.put("max_acquire_ms", TimeUnit.NANOSECONDS.toMillis(maxAcquireNanos.get()));
+            return stats;
+        }
+    }
+}
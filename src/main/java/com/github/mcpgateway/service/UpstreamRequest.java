@@ -0,0 +1,17 @@
+package com.github.mcpgateway.service;
+
+import org.springframework.http.HttpMethod;
+
+import java.net.URI;
+
+/**
+ * A fully rendered upstream call: method, encoded URI with query string, and optional body.
+ */
+record UpstreamRequest(HttpMethod method, URI uri, String body) {
+
+    String cacheKey() {
+        // A URI created from a string returns that same string
+        String url = uri.toString();
+        return body != null ? method.name() + " " + url + "\n" + body : method.name() + " " + url;
+    }
+}
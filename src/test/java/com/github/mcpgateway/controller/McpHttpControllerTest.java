@@ -0,0 +1,173 @@
+package com.github.mcpgateway.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.mcpgateway.mcp.McpSessions;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class McpHttpControllerTest {
+
+    private static final String SESSION_HEADER = "Mcp-Session-Id";
+
+    // Answers GET /delay?ms= after that many milliseconds
+    private static final DisposableServer UPSTREAM = HttpServer.create()
+            .host("127.0.0.1")
+            .port(0)
+            .route(routes -> routes.get("/delay", (request, response) -> {
+                String ms = new QueryStringDecoder(request.uri()).parameters().get("ms").get(0);
+                return Mono.delay(Duration.ofMillis(Long.parseLong(ms)))
+                        .then(response.header("Content-Type", "application/json").sendString(Mono.just("{\"ms\":" + ms + "}")).then());
+            }))
+            .bindNow();
+
+    @DynamicPropertySource
+    static void gatewayConfig(DynamicPropertyRegistry registry) throws IOException {
+        Path config = Files.createTempFile("mcp-http-test", ".yaml");
+        config.toFile().deleteOnExit();
+        Files.writeString(config, """
+                server:
+                  name: test
+                tools:
+                  - name: delay
+                    description: Answers after a delay
+                    endpoint: "http://127.0.0.1:%d/delay"
+                    method: GET
+                    query_params:
+                      ms: "{{ms}}"
+                    parameters:
+                      ms:
+                        type: integer
+                        required: true
+                """.formatted(UPSTREAM.port()));
+        registry.add("mcp.config.file", config::toString);
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private McpSessions mcpSessions;
+
+    private WebTestClient.ResponseSpec post(String sessionId, String body) {
+        WebTestClient.RequestBodySpec request = webTestClient.post().uri("/mcp").contentType(MediaType.APPLICATION_JSON);
+        if (sessionId != null) {
+            request.header(SESSION_HEADER, sessionId);
+        }
+        return request.bodyValue(body).exchange();
+    }
+
+    private String initialize() {
+        return post(null, "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"initialize\",\"params\":{}}")
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.result.serverInfo").exists()
+                .returnResult().getResponseHeaders().getFirst(SESSION_HEADER);
+    }
+
+    @Test
+    void initializeOpensASessionThatLaterRequestsMustName() {
+        String sessionId = initialize();
+        assertThat(sessionId).isNotBlank();
+
+        post(sessionId, "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"ping\"}")
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.id").isEqualTo(2).jsonPath("$.result").exists();
+        post(sessionId, "{\"jsonrpc\":\"2.0\",\"method\":\"notifications/initialized\"}")
+                .expectStatus().isAccepted()
+                .expectBody().isEmpty();
+        post(null, "{\"jsonrpc\":\"2.0\",\"id\":3,\"method\":\"tools/list\"}")
+                .expectStatus().isBadRequest();
+        post("no-such-session", "{\"jsonrpc\":\"2.0\",\"id\":4,\"method\":\"tools/list\"}")
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.id").isEqualTo(4);
+    }
+
+    @Test
+    void deleteEndsTheSessionAndItsEventStream() {
+        String sessionId = initialize();
+        // Messages are dropped while no stream is open, and the stream only starts with its first message
+        Disposable broadcasts = Flux.interval(Duration.ofMillis(50))
+                .subscribe(tick -> mcpSessions.broadcast(Map.of("jsonrpc", "2.0", "method", "notifications/tools/list_changed")));
+        Flux<ServerSentEvent<JsonNode>> events = webTestClient.get().uri("/mcp")
+                .header(SESSION_HEADER, sessionId)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<JsonNode>>() {
+                })
+                .getResponseBody()
+                .filter(event -> event.data() != null)
+                .cache();
+
+        ServerSentEvent<JsonNode> message = events.blockFirst(Duration.ofSeconds(5));
+        broadcasts.dispose();
+        assertThat(message.event()).isEqualTo("message");
+        assertThat(message.data().get("method").asText()).isEqualTo("notifications/tools/list_changed");
+
+        webTestClient.delete().uri("/mcp").header(SESSION_HEADER, sessionId).exchange().expectStatus().isNoContent();
+
+        // The stream completes with the session
+        events.then().block(Duration.ofSeconds(5));
+        post(sessionId, "{\"jsonrpc\":\"2.0\",\"id\":5,\"method\":\"ping\"}").expectStatus().isNotFound();
+        webTestClient.delete().uri("/mcp").header(SESSION_HEADER, sessionId).exchange().expectStatus().isNotFound();
+        webTestClient.get().uri("/mcp").header(SESSION_HEADER, sessionId).exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void answersABatchInRequestOrder() {
+        String sessionId = initialize();
+
+        post(sessionId, "[{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"tools/call\",\"params\":{\"name\":\"delay\",\"arguments\":{\"ms\":300}}},"
+                + "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"tools/call\",\"params\":{\"name\":\"delay\",\"arguments\":{\"ms\":1}}},"
+                + "{\"jsonrpc\":\"2.0\",\"method\":\"notifications/initialized\"},"
+                + "{\"jsonrpc\":\"2.0\",\"id\":3,\"method\":\"ping\"}]")
+                .expectStatus().isOk()
+                .expectBody()
+                // The slow first call still comes first; the notification gets no response
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].id").isEqualTo(1)
+                .jsonPath("$[0].result.data.ms").isEqualTo(300)
+                .jsonPath("$[1].id").isEqualTo(2)
+                .jsonPath("$[1].result.data.ms").isEqualTo(1)
+                .jsonPath("$[2].id").isEqualTo(3);
+    }
+
+    @Test
+    void acceptsANotificationOnlyBatchWithoutABody() {
+        String sessionId = initialize();
+
+        post(sessionId, "[{\"jsonrpc\":\"2.0\",\"method\":\"notifications/initialized\"}]")
+                .expectStatus().isAccepted()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void rejectsAnEmptyBatch() {
+        String sessionId = initialize();
+
+        post(sessionId, "[]")
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error.message").value(message -> assertThat((String) message).contains("Empty batch"));
+    }
+}
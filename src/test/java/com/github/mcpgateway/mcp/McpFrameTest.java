@@ -0,0 +1,60 @@
+package com.github.mcpgateway.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class McpFrameTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private McpFrame parse(String json) throws IOException {
+        return McpFrame.parse(objectMapper.createParser(json));
+    }
+
+    @Test
+    void readsAToolCall() throws IOException {
+        McpFrame frame = parse("{\"jsonrpc\":\"2.0\",\"id\":3,\"method\":\"tools/call\","
+                + "\"params\":{\"name\":\"search\",\"arguments\":{\"q\":\"x\"},\"_meta\":{\"progressToken\":1}}}");
+
+        assertThat(frame.batch()).isFalse();
+        McpRequest request = frame.requests().get(0);
+        assertThat(request.id().asInt()).isEqualTo(3);
+        assertThat(request.method()).isEqualTo("tools/call");
+        assertThat(request.toolName()).isEqualTo("search");
+        assertThat(request.arguments().get("q").asText()).isEqualTo("x");
+    }
+
+    @Test
+    void skipsAnObjectMethodAndKeepsTheId() throws IOException {
+        McpRequest request = parse("{\"id\":5,\"method\":{\"x\":1}}").requests().get(0);
+
+        assertThat(request.id().asInt()).isEqualTo(5);
+        assertThat(request.method()).isNull();
+    }
+
+    @Test
+    void skipsNonStringParamsAndReadsTheFieldsAfterThem() throws IOException {
+        McpRequest request = parse("{\"id\":7,\"method\":\"tools/call\","
+                + "\"params\":{\"name\":[\"a\"],\"cursor\":{\"page\":2},\"arguments\":{\"k\":1}},\"jsonrpc\":\"2.0\"}")
+                .requests().get(0);
+
+        assertThat(request.id().asInt()).isEqualTo(7);
+        assertThat(request.method()).isEqualTo("tools/call");
+        assertThat(request.toolName()).isNull();
+        assertThat(request.cursor()).isNull();
+        assertThat(request.arguments().get("k").asInt()).isEqualTo(1);
+    }
+
+    @Test
+    void answersNonObjectBatchEntriesAsEmptyRequests() throws IOException {
+        McpFrame frame = parse("[{\"id\":1,\"method\":\"ping\"}, 42]");
+
+        assertThat(frame.batch()).isTrue();
+        assertThat(frame.requests()).hasSize(2);
+        assertThat(frame.requests().get(1).method()).isNull();
+    }
+}
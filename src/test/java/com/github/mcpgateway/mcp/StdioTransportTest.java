@@ -0,0 +1,71 @@
+package com.github.mcpgateway.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StdioTransportTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Hands out at most a few bytes per read, like a pipe delivering a frame in pieces
+    private static InputStream chunked(String text, int chunkSize) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, chunkSize));
+            }
+        };
+    }
+
+    private StdioTransport transport(InputStream in) {
+        return new StdioTransport(objectMapper, in, new ByteArrayOutputStream());
+    }
+
+    @Test
+    void joinsFramesSplitAcrossReads() throws IOException {
+        String input = "{\"id\":1,\"method\":\"ping\"}\n\n  \r\n{\"id\":2,\"method\":\"tools/call\","
+                + "\"params\":{\"name\":\"café\",\"arguments\":{}}}\n{\"id\":3,\"method\":\"tools/list\"}";
+        StdioTransport transport = transport(chunked(input, 2));
+
+        assertThat(transport.read().requests().get(0).method()).isEqualTo("ping");
+        McpRequest call = transport.read().requests().get(0);
+        assertThat(call.id().asInt()).isEqualTo(2);
+        // A multi-byte character split between two reads
+        assertThat(call.toolName()).isEqualTo("café");
+        // The last frame has no trailing newline
+        assertThat(transport.read().requests().get(0).method()).isEqualTo("tools/list");
+        assertThat(transport.read()).isNull();
+    }
+
+    @Test
+    void growsTheLineBufferForLongFrames() throws IOException {
+        String query = "x".repeat(5000);
+        String input = "{\"id\":1,\"method\":\"tools/call\",\"params\":{\"name\":\"search\",\"arguments\":{\"q\":\"" + query + "\"}}}\n"
+                + "{\"id\":2,\"method\":\"ping\"}\n";
+        StdioTransport transport = transport(chunked(input, 1000));
+
+        assertThat(transport.read().requests().get(0).arguments().get("q").asText()).isEqualTo(query);
+        assertThat(transport.read().requests().get(0).id().asInt()).isEqualTo(2);
+        assertThat(transport.read()).isNull();
+    }
+
+    @Test
+    void writesEachMessageAsOneLine() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StdioTransport transport = new StdioTransport(objectMapper, InputStream.nullInputStream(), out);
+
+        transport.send(Map.of("id", 1));
+        transport.send(Map.of("id", 2));
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}\n{\"id\":2}\n");
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.mcpgateway.service;
+
+import com.github.mcpgateway.model.ServerConfig;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerTest {
+
+    private static final Duration TIMEOUT = Duration.ofMillis(20);
+
+    private static CircuitBreaker breaker() {
+        return breaker(60_000);
+    }
+
+    private static CircuitBreaker breaker(int openDurationMs) {
+        ServerConfig.CircuitBreakerConfig config = new ServerConfig.CircuitBreakerConfig();
+        config.setWindowSize(10);
+        config.setMinimumCalls(5);
+        config.setOpenDurationMs(openDurationMs);
+        config.setHalfOpenCalls(2);
+        return new CircuitBreaker("api.example.com", config);
+    }
+
+    // Opens the circuit and waits until it lets probes through
+    private static CircuitBreaker halfOpenBreaker() throws InterruptedException {
+        CircuitBreaker breaker = breaker(50);
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> breaker.execute(Mono.error(new TimeoutException()), Long.MAX_VALUE).block())
+                    .hasRootCauseInstanceOf(TimeoutException.class);
+        }
+        assertThat(breaker.isOpen()).isTrue();
+        Thread.sleep(60);
+        return breaker;
+    }
+
+    // A hung upstream, cut off by the tool's deadline as the service does it
+    private static void callUntilDeadline(CircuitBreaker breaker, long deadline) {
+        assertThatThrownBy(() -> breaker.execute(Mono.never(), deadline).timeout(TIMEOUT).block())
+                .hasRootCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void opensOnceTheFailureRateCrossesTheThreshold() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.execute(Mono.just("ok"), Long.MAX_VALUE).block()).isEqualTo("ok");
+        }
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.isOpen()).isFalse();
+            assertThatThrownBy(() -> breaker.execute(Mono.error(new TimeoutException()), Long.MAX_VALUE).block())
+                    .hasRootCauseInstanceOf(TimeoutException.class);
+        }
+
+        assertThat(breaker.isOpen()).isTrue();
+        assertThat(breaker.checkOpen()).isNotNull();
+    }
+
+    @Test
+    void callsCutOffByTheDeadlineOpenTheCircuit() {
+        CircuitBreaker breaker = breaker();
+
+        for (int i = 0; i < 5; i++) {
+            callUntilDeadline(breaker, System.nanoTime() + TIMEOUT.toNanos());
+        }
+
+        assertThat(breaker.isOpen()).isTrue();
+        assertThat(breaker.getStats()).containsEntry("state", "open").containsEntry("times_opened", 1L);
+        assertThatThrownBy(() -> breaker.execute(Mono.just("ok"), Long.MAX_VALUE).block())
+                .isInstanceOf(CircuitOpenException.class);
+    }
+
+    @Test
+    void callsCancelledBeforeTheDeadlineAreIgnored() {
+        CircuitBreaker breaker = breaker();
+
+        // Like a losing hedged attempt: cancelled while the call's deadline is still far away
+        for (int i = 0; i < 5; i++) {
+            callUntilDeadline(breaker, System.nanoTime() + Duration.ofMinutes(1).toNanos());
+        }
+
+        assertThat(breaker.isOpen()).isFalse();
+        assertThat(breaker.getStats()).containsEntry("state", "closed").containsEntry("calls", 0);
+    }
+
+    @Test
+    void closesWhenAllProbesSucceed() throws InterruptedException {
+        CircuitBreaker breaker = halfOpenBreaker();
+
+        assertThat(breaker.execute(Mono.just("probe"), Long.MAX_VALUE).block()).isEqualTo("probe");
+        assertThat(breaker.getStats()).containsEntry("state", "half_open");
+        assertThat(breaker.execute(Mono.just("probe"), Long.MAX_VALUE).block()).isEqualTo("probe");
+
+        assertThat(breaker.getStats()).containsEntry("state", "closed").containsEntry("calls", 0);
+    }
+
+    @Test
+    void reopensOnTheFirstFailedProbe() throws InterruptedException {
+        CircuitBreaker breaker = halfOpenBreaker();
+
+        assertThatThrownBy(() -> breaker.execute(Mono.error(new TimeoutException()), Long.MAX_VALUE).block())
+                .hasRootCauseInstanceOf(TimeoutException.class);
+
+        assertThat(breaker.getStats()).containsEntry("state", "open").containsEntry("times_opened", 2L);
+        assertThatThrownBy(() -> breaker.execute(Mono.just("ok"), Long.MAX_VALUE).block())
+                .isInstanceOf(CircuitOpenException.class);
+    }
+
+    @Test
+    void turnsCallsAwayWhileTheProbesAreRunning() throws InterruptedException {
+        CircuitBreaker breaker = halfOpenBreaker();
+        Disposable first = breaker.execute(Mono.never(), Long.MAX_VALUE).subscribe();
+        Disposable second = breaker.execute(Mono.never(), Long.MAX_VALUE).subscribe();
+
+        assertThatThrownBy(() -> breaker.execute(Mono.just("ok"), Long.MAX_VALUE).block())
+                .isInstanceOf(CircuitOpenException.class)
+                .satisfies(e -> assertThat(((CircuitOpenException) e).getRetryAfterMs()).isEqualTo(1000));
+        first.dispose();
+        second.dispose();
+    }
+}
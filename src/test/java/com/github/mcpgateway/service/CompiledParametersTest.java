@@ -0,0 +1,105 @@
+package com.github.mcpgateway.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mcpgateway.model.ParameterConfig;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompiledParametersTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static ParameterConfig parameter(String type, boolean required, Object defaultValue) {
+        ParameterConfig parameter = new ParameterConfig();
+        parameter.setType(type);
+        parameter.setRequired(required);
+        parameter.setDefaultValue(defaultValue);
+        return parameter;
+    }
+
+    // Slots follow the declaration order: query, limit, exact, ratio, tags
+    private static CompiledParameters parameters() {
+        Map<String, ParameterConfig> configs = new LinkedHashMap<>();
+        configs.put("query", parameter("string", true, null));
+        configs.put("limit", parameter("integer", false, 10));
+        configs.put("exact", parameter("boolean", false, null));
+        configs.put("ratio", parameter("number", false, null));
+        configs.put("tags", parameter("array", false, null));
+        return CompiledParameters.compile("search", configs, new ArgumentSlots(configs.keySet()));
+    }
+
+    @Test
+    void coercesLosslessTextAndNumbers() {
+        Object[] bound = parameters().bind(Map.of("query", 42, "limit", "3.0", "exact", "TRUE", "ratio", "1.5"));
+
+        assertThat(bound).containsExactly("42", 3L, true, new BigDecimal("1.5"), null);
+    }
+
+    @Test
+    void bindsJsonArgumentsAndAppliesDefaults() throws Exception {
+        Object[] bound = parameters().bind(objectMapper.readTree("{\"query\":\"x\",\"limit\":null,\"ratio\":2,\"tags\":[\"a\"]}"));
+
+        assertThat(bound[0]).isEqualTo("x");
+        // An explicit null gets the default
+        assertThat(bound[1]).isEqualTo(10L);
+        assertThat(bound[3]).isEqualTo(2);
+        assertThat(bound[4]).hasToString("[\"a\"]");
+    }
+
+    @Test
+    void collectsEveryErrorOfACall() {
+        Map<String, Object> input = new HashMap<>();
+        input.put("limit", 2.5);
+        input.put("exact", "yes");
+        input.put("tags", "a,b");
+
+        assertThatThrownBy(() -> parameters().bind(input))
+                .isInstanceOf(InvalidArgumentsException.class)
+                .satisfies(e -> assertThat(((InvalidArgumentsException) e).getErrors())
+                        .extracting(error -> error.get("parameter") + ":" + error.get("code") + ":" + error.get("received"))
+                        .containsExactly("query:missing:null", "limit:invalid_type:number",
+                                "exact:invalid_type:string", "tags:invalid_type:string"));
+    }
+
+    @Test
+    void rejectsHugeExponentsWithoutExpandingThem() {
+        Map<String, Object> input = Map.of("query", "x", "limit", "1e50000000", "ratio", "1e-50000000");
+
+        assertThatThrownBy(() -> parameters().bind(input))
+                .isInstanceOf(InvalidArgumentsException.class)
+                .satisfies(e -> assertThat(((InvalidArgumentsException) e).getErrors())
+                        .extracting(error -> error.get("parameter") + ":" + error.get("code"))
+                        .containsExactly("limit:invalid_type", "ratio:invalid_type"));
+        // Zero in any notation is still an integer
+        assertThat(parameters().bind(Map.of("query", "x", "limit", "0e-50000000"))[1]).isEqualTo(0L);
+    }
+
+    @Test
+    void rejectsJsonNumbersOutsideTheDoubleRange() throws Exception {
+        assertThatThrownBy(() -> parameters().bind(objectMapper.readTree("{\"query\":\"x\",\"limit\":1e400,\"ratio\":-1e400}")))
+                .isInstanceOf(InvalidArgumentsException.class)
+                .satisfies(e -> assertThat(((InvalidArgumentsException) e).getErrors())
+                        .extracting(error -> error.get("parameter") + ":" + error.get("code"))
+                        .containsExactly("limit:invalid_type", "ratio:invalid_type"));
+    }
+
+    @Test
+    void rejectsUnknownTypesAndMistypedDefaults() {
+        ArgumentSlots slots = new ArgumentSlots(List.of("limit"));
+
+        assertThatThrownBy(() -> CompiledParameters.compile("search", Map.of("limit", parameter("int", false, null)), slots))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Unknown type 'int'");
+        assertThatThrownBy(() -> CompiledParameters.compile("search", Map.of("limit", parameter("integer", false, "ten")), slots))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Default value of parameter 'limit'");
+    }
+}
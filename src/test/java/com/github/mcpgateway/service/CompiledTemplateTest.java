@@ -0,0 +1,42 @@
+package com.github.mcpgateway.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompiledTemplateTest {
+
+    private static String render(String template, CompiledTemplate.Encoding encoding, Object... values) {
+        ArgumentSlots slots = new ArgumentSlots(List.of("a", "b"));
+        return CompiledTemplate.compile(template, encoding, slots).render(values);
+    }
+
+    @Test
+    void writesJsonValuesOutsideStringsAndEscapedTextInside() {
+        assertThat(render("{\"a\": {{a}}, \"b\": \"say {{b}}\"}", CompiledTemplate.Encoding.JSON, "x\"y", "\"hi\""))
+                .isEqualTo("{\"a\": \"x\\\"y\", \"b\": \"say \\\"hi\\\"\"}");
+        assertThat(render("[{{a}}, {{b}}]", CompiledTemplate.Encoding.JSON, List.of(1, 2), Map.of("k", true)))
+                .isEqualTo("[[1,2], {\"k\":true}]");
+    }
+
+    @Test
+    void writesPlainTextIntoTextTemplates() {
+        assertThat(render("name={{a}}&n={{b}}", CompiledTemplate.Encoding.TEXT, "bob \"b\"", 2))
+                .isEqualTo("name=bob \"b\"&n=2");
+    }
+
+    @Test
+    void percentEncodesQueryValues() {
+        assertThat(render("{{a}}-{{b}}", CompiledTemplate.Encoding.QUERY, "a&b", "c d"))
+                .isEqualTo("a%26b-c%20d");
+    }
+
+    @Test
+    void leavesPlaceholdersOfAbsentArguments() {
+        assertThat(render("{\"a\": {{a}}}", CompiledTemplate.Encoding.JSON, null, null)).isEqualTo("{\"a\": {{a}}}");
+        assertThat(render("{{a}}", CompiledTemplate.Encoding.QUERY, null, null)).isEqualTo("%7B%7Ba%7D%7D");
+    }
+}
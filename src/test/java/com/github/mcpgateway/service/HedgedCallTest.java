@@ -0,0 +1,54 @@
+package com.github.mcpgateway.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgedCallTest {
+
+    private static final Duration DELAY = Duration.ofMillis(20);
+
+    @Test
+    void theHedgeWinsWhenTheFirstAttemptFailsAfterTheDelay() {
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> attempt = Mono.defer(() -> attempts.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofMillis(60)).then(Mono.<String>error(new IllegalStateException("first")))
+                : Mono.delay(Duration.ofMillis(100)).thenReturn("second"));
+
+        assertThat(ApiWrapperMcpService.hedged(attempt, DELAY).block()).isEqualTo("second");
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void aFirstAttemptFailingBeforeTheDelayIsNotHedged() {
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> attempt = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new IllegalStateException("refused"));
+        });
+
+        assertThatThrownBy(() -> ApiWrapperMcpService.hedged(attempt, DELAY).block())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("refused");
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void failsWithTheLastErrorWhenBothAttemptsFail() {
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> attempt = Mono.defer(() -> {
+            int n = attempts.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(n == 1 ? 60 : 100))
+                    .then(Mono.<String>error(new IllegalStateException("attempt " + n)));
+        });
+
+        assertThatThrownBy(() -> ApiWrapperMcpService.hedged(attempt, DELAY).block())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("attempt 2");
+    }
+}
@@ -0,0 +1,29 @@
+package com.github.mcpgateway.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PercentEncodingTest {
+
+    @Test
+    void encodesEverythingButUnreservedCharacters() {
+        assertThat(PercentEncoding.encode("Az09-._~")).isEqualTo("Az09-._~");
+        assertThat(PercentEncoding.encode("a&b c/d=e+f")).isEqualTo("a%26b%20c%2Fd%3De%2Bf");
+    }
+
+    @Test
+    void encodesNonAsciiTextAsUtf8() {
+        assertThat(PercentEncoding.encode("café")).isEqualTo("caf%C3%A9");
+        assertThat(PercentEncoding.encode("😀")).isEqualTo("%F0%9F%98%80");
+    }
+
+    @Test
+    void keepsReservedCharactersAndEscapesInUris() {
+        assertThat(PercentEncoding.encodeUri("https://api.example.com/a%2Fb?q=1&r=[x]#top"))
+                .isEqualTo("https://api.example.com/a%2Fb?q=1&r=[x]#top");
+        assertThat(PercentEncoding.encodeUri("/files/my report 100%.txt"))
+                .isEqualTo("/files/my%20report%20100%25.txt");
+        assertThat(PercentEncoding.encodeUri("/é/😀")).isEqualTo("/%C3%A9/%F0%9F%98%80");
+    }
+}
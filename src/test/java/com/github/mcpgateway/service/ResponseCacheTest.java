@@ -0,0 +1,79 @@
+package com.github.mcpgateway.service;
+
+import com.github.mcpgateway.model.ApiToolConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheTest {
+
+    private static ResponseCache cache(Integer ttl, Integer staleWhileRevalidate, Integer maxEntries, Long maxBytes) {
+        ApiToolConfig.CacheConfig config = new ApiToolConfig.CacheConfig();
+        config.setTtl(ttl);
+        config.setStaleWhileRevalidate(staleWhileRevalidate);
+        config.setMaxEntries(maxEntries);
+        config.setMaxBytes(maxBytes);
+        return new ResponseCache(config);
+    }
+
+    @Test
+    void servesFreshEntriesUntilTheyExpire() {
+        ResponseCache cache = cache(60, null, null, null);
+
+        assertThat(cache.get("GET /a")).isNull();
+        cache.put("GET /a", "value", 5);
+        ResponseCache.Entry entry = cache.get("GET /a");
+
+        assertThat(entry.getValue()).isEqualTo("value");
+        assertThat(entry.isStale()).isFalse();
+        assertThat(cache.getStats()).containsEntry("hits", 1L).containsEntry("misses", 1L)
+                .containsEntry("entries", 1).containsEntry("bytes", 5L);
+    }
+
+    @Test
+    void servesExpiredEntriesOnlyWithinTheStaleWindow() throws InterruptedException {
+        ResponseCache cache = cache(0, 1, null, null);
+        cache.put("GET /a", "value", 5);
+
+        ResponseCache.Entry stale = cache.get("GET /a");
+        assertThat(stale.isStale()).isTrue();
+        // A single background refresh per entry, claimed again after a failed one
+        assertThat(stale.startRevalidation()).isTrue();
+        assertThat(stale.startRevalidation()).isFalse();
+        stale.revalidationFailed();
+        assertThat(stale.startRevalidation()).isTrue();
+
+        Thread.sleep(1100);
+        assertThat(cache.get("GET /a")).isNull();
+        assertThat(cache.getStats()).containsEntry("stale_hits", 1L).containsEntry("entries", 0).containsEntry("bytes", 0L);
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        ResponseCache cache = cache(60, null, 2, null);
+        cache.put("a", "1", 1);
+        cache.put("b", "2", 1);
+        cache.get("a");
+
+        cache.put("c", "3", 1);
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("c")).isNotNull();
+        assertThat(cache.getStats()).containsEntry("evictions", 1L);
+    }
+
+    @Test
+    void staysWithinItsByteBudget() {
+        ResponseCache cache = cache(60, null, null, 10L);
+        cache.put("a", "1", 6);
+        cache.put("b", "2", 6);
+        // Larger than the whole budget: never stored
+        cache.put("c", "3", 11);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isNotNull();
+        assertThat(cache.get("c")).isNull();
+        assertThat(cache.getStats()).containsEntry("bytes", 6L).containsEntry("evictions", 1L);
+    }
+}
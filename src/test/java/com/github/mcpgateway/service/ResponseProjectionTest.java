@@ -0,0 +1,63 @@
+package com.github.mcpgateway.service;
+
+import com.github.mcpgateway.model.ApiToolConfig;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResponseProjectionTest {
+
+    private static final String BODY = "{\"total\":2,\"owner\":{\"login\":\"octo\",\"avatar_url\":\"a\",\"node_id\":\"n1\"},"
+            + "\"items\":[{\"name\":\"x\",\"html_url\":\"h1\",\"node_id\":\"n2\"},{\"name\":\"y\",\"html_url\":\"h2\",\"node_id\":\"n3\"}]}";
+
+    private static ApiToolConfig.ResponseConfig response(List<String> fields, List<String> drop, Integer maxArrayItems) {
+        ApiToolConfig.ResponseConfig response = new ApiToolConfig.ResponseConfig();
+        response.setFields(fields);
+        response.setDrop(drop);
+        response.setMaxArrayItems(maxArrayItems);
+        return response;
+    }
+
+    private static String project(ApiToolConfig.ResponseConfig response) throws IOException {
+        byte[] projected = ResponseProjection.compile(response).apply(BODY.getBytes(StandardCharsets.UTF_8));
+        return new String(projected, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void selectsJsonPathAndPointerFields() throws IOException {
+        assertThat(project(response(List.of("$.items[*].name", "/owner/login"), null, null)))
+                .isEqualTo("{\"owner\":{\"login\":\"octo\"},\"items\":[{\"name\":\"x\"},{\"name\":\"y\"}]}");
+        assertThat(project(response(List.of("$['total']", "$.items[1].name"), null, null)))
+                .isEqualTo("{\"total\":2,\"items\":[{\"name\":\"y\"}]}");
+    }
+
+    @Test
+    void dropsDeepScanMatchesWithWildcards() throws IOException {
+        assertThat(project(response(null, List.of("$..node_id", "$..*_url"), null)))
+                .isEqualTo("{\"total\":2,\"owner\":{\"login\":\"octo\"},\"items\":[{\"name\":\"x\"},{\"name\":\"y\"}]}");
+    }
+
+    @Test
+    void dropsWithinSelectedFieldsAndCutsArrays() throws IOException {
+        assertThat(project(response(List.of("$.items"), List.of("$.items[*].html_url", "$.items[*].node_id"), 1)))
+                .isEqualTo("{\"items\":[{\"name\":\"x\"}]}");
+    }
+
+    @Test
+    void selectsEverythingWithoutFieldsDropsOrLimits() {
+        assertThat(ResponseProjection.compile(response(null, null, null))).isNull();
+        assertThat(ResponseProjection.compile(null)).isNull();
+    }
+
+    @Test
+    void rejectsDroppingTheWholeResponse() {
+        assertThatThrownBy(() -> ResponseProjection.compile(response(null, List.of("$"), null)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Cannot drop the whole response");
+    }
+}
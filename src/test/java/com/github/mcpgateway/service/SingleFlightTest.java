@@ -0,0 +1,84 @@
+package com.github.mcpgateway.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    // An upstream call that completes when the test says so
+    private Mono<String> call(Sinks.One<String> result) {
+        return singleFlight.execute("GET /a", () -> {
+            calls.incrementAndGet();
+            return result.asMono();
+        });
+    }
+
+    @Test
+    void concurrentCallersShareOneCall() {
+        Sinks.One<String> result = Sinks.one();
+        CompletableFuture<String> first = call(result).toFuture();
+        CompletableFuture<String> second = call(result).toFuture();
+
+        result.tryEmitValue("value");
+
+        assertThat(first.join()).isEqualTo("value");
+        assertThat(second.join()).isEqualTo("value");
+        assertThat(calls).hasValue(1);
+        assertThat(singleFlight.getStats()).containsEntry("executed", 1L).containsEntry("coalesced", 1L)
+                .containsEntry("in_flight", 0);
+    }
+
+    @Test
+    void aFinishedCallIsNotReused() {
+        Sinks.One<String> first = Sinks.one();
+        first.tryEmitValue("first");
+        Sinks.One<String> second = Sinks.one();
+        second.tryEmitValue("second");
+
+        assertThat(call(first).block()).isEqualTo("first");
+        assertThat(call(second).block()).isEqualTo("second");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void sharesAFailureWithEveryWaitingCaller() {
+        Sinks.One<String> result = Sinks.one();
+        CompletableFuture<String> first = call(result).toFuture();
+        CompletableFuture<String> second = call(result).toFuture();
+
+        result.tryEmitError(new IllegalStateException("upstream down"));
+
+        assertThatThrownBy(first::get).isInstanceOf(ExecutionException.class).hasRootCauseMessage("upstream down");
+        assertThatThrownBy(second::get).isInstanceOf(ExecutionException.class).hasRootCauseMessage("upstream down");
+        // The failure is not cached
+        Sinks.One<String> retry = Sinks.one();
+        retry.tryEmitValue("value");
+        assertThat(call(retry).block()).isEqualTo("value");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void aCancelledCallerDoesNotCancelTheSharedCall() {
+        Sinks.One<String> result = Sinks.one();
+        Disposable cancelled = call(result).subscribe();
+        CompletableFuture<String> remaining = call(result).toFuture();
+
+        cancelled.dispose();
+        result.tryEmitValue("value");
+
+        assertThat(remaining.join()).isEqualTo("value");
+        assertThat(calls).hasValue(1);
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.mcpgateway.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingBodyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Streams the chunks through the body as the service does and parses the envelope
+    private JsonNode stream(StreamingBody body, String... chunks) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(StreamingBody.PREFIX);
+        for (String chunk : chunks) {
+            out.write(body.escape(DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+            if (body.isTruncated()) {
+                break;
+            }
+        }
+        out.write(body.suffix());
+        return objectMapper.readTree(out.toByteArray());
+    }
+
+    @Test
+    void escapesChunksIntoOneJsonString() throws IOException {
+        String first = "{\"a\": \"x\\\\y\",\n";
+        String second = "\t\"b\": \u0001}\r\n";
+        JsonNode result = stream(new StreamingBody(null), first, second);
+
+        assertThat(result.get("success").asBoolean()).isTrue();
+        assertThat(result.get("data").asText()).isEqualTo(first + second);
+        assertThat(result.get("truncated").asBoolean()).isFalse();
+        assertThat(result.get("bytes").asLong()).isEqualTo(first.length() + second.length());
+    }
+
+    @Test
+    void keepsMultiByteCharactersSplitBetweenChunks() throws IOException {
+        byte[] text = "café ☕".getBytes(StandardCharsets.UTF_8);
+        StreamingBody body = new StreamingBody(null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(StreamingBody.PREFIX);
+        // Cuts inside the é and inside the ☕
+        out.write(body.escape(DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(text, 0, 4))));
+        out.write(body.escape(DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(text, 4, 8))));
+        out.write(body.escape(DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(text, 8, text.length))));
+        out.write(body.suffix());
+
+        assertThat(objectMapper.readTree(out.toByteArray()).get("data").asText()).isEqualTo("café ☕");
+    }
+
+    @Test
+    void stopsAtTheCapWithoutSplittingACharacter() throws IOException {
+        StreamingBody body = new StreamingBody(4L);
+        // The cap falls inside the second byte of the é
+        JsonNode result = stream(body, "caf", "é and more");
+
+        assertThat(result.get("data").asText()).isEqualTo("caf");
+        assertThat(result.get("truncated").asBoolean()).isTrue();
+        assertThat(result.get("bytes").asLong()).isEqualTo(3);
+    }
+
+    @Test
+    void closesTheEnvelopeWithTheErrorOfAFailedUpstream() throws IOException {
+        StreamingBody body = new StreamingBody(null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(StreamingBody.PREFIX);
+        out.write(body.escape(DefaultDataBufferFactory.sharedInstance.wrap("partial".getBytes(StandardCharsets.UTF_8))));
+        out.write(body.errorSuffix("\"connection reset\""));
+
+        JsonNode result = objectMapper.readTree(out.toByteArray());
+        assertThat(body.isFailed()).isTrue();
+        assertThat(result.get("data").asText()).isEqualTo("partial");
+        assertThat(result.get("truncated").asBoolean()).isTrue();
+        assertThat(result.get("error").asText()).isEqualTo("connection reset");
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.mcpgateway.service;
+
+import com.github.mcpgateway.model.LimitsConfig;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ThrottleTest {
+
+    private static Throttle throttle(Double requestsPerSecond, Integer maxConcurrent, Integer maxQueue, Integer maxWaitMs) {
+        LimitsConfig limits = new LimitsConfig();
+        limits.setRequestsPerSecond(requestsPerSecond);
+        limits.setBurst(1);
+        limits.setMaxConcurrent(maxConcurrent);
+        limits.setMaxQueue(maxQueue);
+        limits.setMaxWaitMs(maxWaitMs);
+        return Throttle.create("tool test", limits);
+    }
+
+    @Test
+    void queuedCallsRunWhenTheNextTokenIsRefilled() {
+        Throttle throttle = throttle(20.0, null, null, 1000);
+
+        assertThat(throttle.execute(Mono.just("first")).block()).isEqualTo("first");
+        long start = System.nanoTime();
+        assertThat(throttle.execute(Mono.just("second")).block()).isEqualTo("second");
+
+        // One token every 50 ms
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(30));
+        assertThat(throttle.getStats()).containsEntry("admitted", 2L).containsEntry("delayed", 1L);
+    }
+
+    @Test
+    void queuedCallsExpireAfterTheMaximumWait() {
+        Throttle throttle = throttle(null, 1, null, 50);
+        Disposable running = throttle.execute(Mono.never()).subscribe();
+
+        assertThatThrownBy(() -> throttle.execute(Mono.just("waiting")).block())
+                .isInstanceOf(ThrottledException.class)
+                .hasMessageContaining("no slot within 50 ms");
+        assertThat(throttle.getStats()).containsEntry("timed_out", 1L).containsEntry("queued", 0);
+        running.dispose();
+    }
+
+    @Test
+    void rejectsCallsWhenTheQueueIsFull() {
+        Throttle throttle = throttle(null, 1, 1, 1000);
+        Disposable running = throttle.execute(Mono.never()).subscribe();
+        Disposable queued = throttle.execute(Mono.never()).subscribe();
+
+        assertThatThrownBy(() -> throttle.execute(Mono.just("rejected")).block())
+                .isInstanceOf(ThrottledException.class)
+                .hasMessageContaining("queue full");
+        assertThat(throttle.getStats()).containsEntry("rejected", 1L);
+        queued.dispose();
+        running.dispose();
+    }
+
+    @Test
+    void aFinishedCallHandsItsSlotToTheNextInQueue() {
+        Throttle throttle = throttle(null, 1, null, 1000);
+        throttle.execute(Mono.delay(Duration.ofMillis(30))).subscribe();
+
+        assertThat(throttle.execute(Mono.just("next")).block()).isEqualTo("next");
+        assertThat(throttle.getStats()).containsEntry("admitted", 2L).containsEntry("delayed", 1L);
+    }
+}
@@ -0,0 +1,120 @@
+package com.github.mcpgateway.service;
+
+import com.github.mcpgateway.model.ApiToolConfig;
+import com.github.mcpgateway.model.LimitsConfig;
+import com.github.mcpgateway.model.ParameterConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ToolExecutionPlanTest {
+
+    private static ApiToolConfig tool(String endpoint, Map<String, ParameterConfig> parameters) {
+        ApiToolConfig tool = new ApiToolConfig();
+        tool.setName("repos");
+        tool.setEndpoint(endpoint);
+        tool.setMethod("GET");
+        tool.setParameters(parameters);
+        return tool;
+    }
+
+    private static ParameterConfig parameter(String type) {
+        ParameterConfig parameter = new ParameterConfig();
+        parameter.setType(type);
+        return parameter;
+    }
+
+    @Test
+    void rejectsUndeclaredPathVariables() {
+        assertThatThrownBy(() -> ToolExecutionPlan.compile(tool("https://api.example.com/users/{{username}}/repos", null)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Path variable 'username' of tool repos is not declared");
+    }
+
+    @Test
+    void requiresDeclaredPathVariables() {
+        Map<String, ParameterConfig> parameters = new LinkedHashMap<>();
+        parameters.put("sort", parameter("string"));
+        parameters.put("username", parameter("string"));
+        ToolExecutionPlan plan = ToolExecutionPlan.compile(tool("https://api.example.com/users/{{username}}/repos", parameters));
+
+        assertThat(plan.getPathVariables()).containsExactly("username");
+        assertThatThrownBy(() -> plan.bindArguments(Map.of("sort", "stars")))
+                .isInstanceOf(InvalidArgumentsException.class)
+                .satisfies(e -> assertThat(((InvalidArgumentsException) e).getErrors())
+                        .extracting(error -> error.get("parameter"))
+                        .isEqualTo(List.of("username")));
+    }
+
+    @Test
+    void rendersPathVariablesAsSingleSegmentsAndSkipsAbsentQueryParams() {
+        Map<String, ParameterConfig> parameters = new LinkedHashMap<>();
+        parameters.put("username", parameter("string"));
+        parameters.put("sort", parameter("string"));
+        ApiToolConfig tool = tool("https://api.example.com/users/{{username}}/repos?type=all", parameters);
+        tool.setQueryParams(Map.of("sort", "{{sort}}"));
+        ToolExecutionPlan plan = ToolExecutionPlan.compile(tool);
+
+        assertThat(plan.getUri().render(plan.bindArguments(Map.of("username", "a/b c"))))
+                .hasToString("https://api.example.com/users/a%2Fb%20c/repos?type=all");
+        assertThat(plan.getUri().render(plan.bindArguments(Map.of("username", "octo", "sort", "stars"))))
+                .hasToString("https://api.example.com/users/octo/repos?type=all&sort=stars");
+    }
+
+    private static ApiToolConfig limitedTool(double requestsPerSecond) {
+        ApiToolConfig tool = tool("https://api.example.com/search", null);
+        tool.setCache(new ApiToolConfig.CacheConfig());
+        tool.setCoalesce(true);
+        LimitsConfig limits = new LimitsConfig();
+        limits.setRequestsPerSecond(requestsPerSecond);
+        tool.setLimits(limits);
+        return tool;
+    }
+
+    @Test
+    void keepsStateWhoseSettingsAreUnchangedOnReload() {
+        ToolExecutionPlan previous = ToolExecutionPlan.compile(limitedTool(5));
+        ToolExecutionPlan reloaded = ToolExecutionPlan.compile(limitedTool(5), previous);
+
+        assertThat(reloaded.getThrottle()).isSameAs(previous.getThrottle());
+        assertThat(reloaded.getResponseCache()).isSameAs(previous.getResponseCache());
+        assertThat(reloaded.getSingleFlight()).isSameAs(previous.getSingleFlight());
+    }
+
+    @Test
+    void resetsStateWhoseSettingsChangedOnReload() {
+        ToolExecutionPlan previous = ToolExecutionPlan.compile(limitedTool(5));
+        ApiToolConfig changed = limitedTool(10);
+        changed.setResponse(new ApiToolConfig.ResponseConfig());
+        changed.getResponse().setFields(List.of("items"));
+        ToolExecutionPlan reloaded = ToolExecutionPlan.compile(changed, previous);
+
+        assertThat(reloaded.getThrottle()).isNotNull().isNotSameAs(previous.getThrottle());
+        assertThat(reloaded.getResponseCache()).isNotNull().isNotSameAs(previous.getResponseCache());
+        assertThat(reloaded.getSingleFlight()).isNotNull().isNotSameAs(previous.getSingleFlight());
+    }
+
+    @Test
+    void insertsJsonValuesOnlyIntoJsonBodies() {
+        Map<String, ParameterConfig> parameters = new LinkedHashMap<>();
+        parameters.put("name", parameter("string"));
+        parameters.put("n", parameter("integer"));
+        ApiToolConfig form = tool("https://api.example.com/items", parameters);
+        form.setMethod("POST");
+        form.setTemplate("name={{name}}&n={{n}}");
+        ApiToolConfig json = tool("https://api.example.com/items", parameters);
+        json.setMethod("POST");
+        json.setTemplate(" {\"name\": {{name}}, \"n\": {{n}}}");
+        Map<String, Object> arguments = Map.of("name", "bob", "n", 2);
+
+        ToolExecutionPlan formPlan = ToolExecutionPlan.compile(form);
+        assertThat(formPlan.getBodyTemplate().render(formPlan.bindArguments(arguments))).isEqualTo("name=bob&n=2");
+        ToolExecutionPlan jsonPlan = ToolExecutionPlan.compile(json);
+        assertThat(jsonPlan.getBodyTemplate().render(jsonPlan.bindArguments(arguments))).isEqualTo(" {\"name\": \"bob\", \"n\": 2}");
+    }
+}